@@ -0,0 +1,72 @@
+#!/usr/bin/env bash
+# Time to first request of a freshly started instance, in three modes:
+#   jar      the executable jar as deployed today
+#   aot      the extracted jar with Spring AOT bean definitions (-Dspring.aot.enabled=true)
+#   aot-cds  aot plus the class-data-sharing archive trained by the build
+#
+# Build first:  mvn -Paot -DskipTests package
+# Usage:        scripts/startup-benchmark.sh [runs] [port]
+#
+# Each run starts the application, polls /actuator/health until it answers (any HTTP status counts:
+# the server is accepting requests) and stops it again. The database comes from the usual
+# spring.datasource.* settings, e.g. SPRING_DATASOURCE_URL; extra JVM options from JAVA_OPTS.
+# Prints every run and the median per mode, in milliseconds.
+set -euo pipefail
+
+RUNS=${1:-5}
+PORT=${2:-8080}
+TARGET=$(cd "$(dirname "$0")/../target" && pwd)
+JAR=$(ls "$TARGET"/pmsBackend-*.jar | grep -v -- '-plain.jar$' | head -n 1)
+APP_DIR="$TARGET/application"
+APP_JAR="$APP_DIR/$(basename "$JAR")"
+
+if [[ ! -f "$APP_JAR" || ! -f "$APP_DIR/application.jsa" ]]; then
+    echo "No AOT build in $APP_DIR; run: mvn -Paot -DskipTests package" >&2
+    exit 1
+fi
+
+now_ms() {
+    date +%s%3N
+}
+
+# Starts one instance, prints the milliseconds until its first HTTP response
+time_to_first_request() {
+    local dir=$1
+    shift
+    local start elapsed
+    start=$(now_ms)
+    (cd "$dir" && exec java ${JAVA_OPTS:-} -Dserver.port="$PORT" "$@" >/dev/null 2>&1) &
+    APP_PID=$!
+    trap 'kill "$APP_PID" 2>/dev/null || true' EXIT
+    until [[ $(curl -s -o /dev/null -w '%{http_code}' "http://localhost:$PORT/actuator/health") != 000 ]]; do
+        if ! kill -0 "$APP_PID" 2>/dev/null; then
+            echo "Application exited before serving a request (mode $MODE)" >&2
+            exit 1
+        fi
+        sleep 0.05
+    done
+    elapsed=$(( $(now_ms) - start ))
+    kill "$APP_PID"
+    wait "$APP_PID" 2>/dev/null || true
+    echo "$elapsed"
+}
+
+median() {
+    sort -n | awk '{ v[NR] = $1 } END { print (NR % 2 ? v[(NR + 1) / 2] : int((v[NR / 2] + v[NR / 2 + 1]) / 2)) }'
+}
+
+printf '%-8s %5s %10s\n' mode run ms
+for MODE in jar aot aot-cds; do
+    results=()
+    for run in $(seq 1 "$RUNS"); do
+        case $MODE in
+            jar)     ms=$(time_to_first_request "$TARGET" -jar "$JAR") ;;
+            aot)     ms=$(time_to_first_request "$APP_DIR" -Dspring.aot.enabled=true -jar "$APP_JAR") ;;
+            aot-cds) ms=$(time_to_first_request "$APP_DIR" -XX:SharedArchiveFile=application.jsa \
+                         -Dspring.aot.enabled=true -jar "$APP_JAR") ;;
+        esac
+        results+=("$ms")
+        printf '%-8s %5d %10d\n' "$MODE" "$run" "$ms"
+    done
+    printf '%-8s %5s %10d\n' "$MODE" median "$(printf '%s\n' "${results[@]}" | median)"
+done
@@ -0,0 +1,123 @@
+package pmsBackend.pmsBackend;
+
+import pmsBackend.pmsBackend.dto.CohortResponseDTO;
+import pmsBackend.pmsBackend.dto.StudentResponseDTO;
+import pmsBackend.pmsBackend.dto.UserResponseDTO;
+import pmsBackend.pmsBackend.entity.Cohort;
+import pmsBackend.pmsBackend.entity.Role;
+import pmsBackend.pmsBackend.entity.Student;
+import pmsBackend.pmsBackend.entity.StudentStatus;
+import pmsBackend.pmsBackend.entity.User;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+// Deterministic, production-shaped data for the benchmarks: fully populated entities and DTOs
+// with realistic string lengths, so conversion and serialisation costs are representative
+public final class BenchmarkFixtures {
+
+    private static final LocalDateTime BASE_TIME = LocalDateTime.of(2025, 1, 15, 9, 30, 12, 123_456_000);
+    private static final StudentStatus[] STATUSES = StudentStatus.values();
+
+    private BenchmarkFixtures() {
+    }
+
+    public static User user(long id, Role role) {
+        return User.builder()
+                .id(id)
+                .fullName("Thandiwe Nomvula Dlamini " + id)
+                .email("user" + id + "@pms.example.org")
+                .cellphone("+27 82 555 " + String.format("%04d", id))
+                .password("$2a$12$Qj0vKq7mX2y1bWl0Jr9Zsu8p4nV7cT3dL6eH5gF2kA1sD0fG9hJ8K")
+                .role(role)
+                .createdAt(BASE_TIME)
+                .updatedAt(BASE_TIME.plusDays(id))
+                .build();
+    }
+
+    public static List<Cohort> cohorts(int count) {
+        User admin = user(1, Role.ADMIN);
+        List<Cohort> cohorts = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            long id = i + 1;
+            cohorts.add(Cohort.builder()
+                    .id(id)
+                    .cohortName("Software Development Cohort " + id)
+                    .duration("6 months")
+                    .startDate(LocalDate.of(2025, 2, 1).plusWeeks(i))
+                    .imageUrl("https://cdn.pms.example.org/cohorts/" + id + "/cover.jpg")
+                    .facilitator(user(100 + id, Role.FACILITATOR))
+                    .createdBy(admin)
+                    .createdAt(BASE_TIME)
+                    .updatedAt(BASE_TIME.plusHours(id))
+                    .build());
+        }
+        return cohorts;
+    }
+
+    public static List<Student> students(int count, List<Cohort> cohorts) {
+        User creator = user(2, Role.FACILITATOR);
+        List<Student> students = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            long id = 10_000 + i;
+            students.add(Student.builder()
+                    .id(id)
+                    .fullNames("Sipho Johannes Mokoena " + id)
+                    .emailAddress("student" + id + "@learners.example.org")
+                    .phoneNumber("+27 71 555 " + String.format("%04d", i % 10_000))
+                    .dateOfBirth(LocalDate.of(1998, 1, 1).plusDays(i * 37L % 3650))
+                    .homeAddress(i + " Long Street, Cape Town City Centre, Cape Town, 8001")
+                    .cohort(cohorts.get(i % cohorts.size()))
+                    .qualification("National Diploma in Information Technology")
+                    .progress(i % 101)
+                    .status(STATUSES[i % STATUSES.length])
+                    .createdBy(creator)
+                    .createdAt(BASE_TIME.plusMinutes(i))
+                    .lastUpdated(BASE_TIME.plusMinutes(i).plusSeconds(42))
+                    .build());
+        }
+        return students;
+    }
+
+    // The shape StudentService returns: cohort with facilitator, creator, timestamps
+    public static List<StudentResponseDTO> studentResponses(int count) {
+        List<StudentResponseDTO> responses = new ArrayList<>(count);
+        for (Student student : students(count, cohorts(5))) {
+            Cohort cohort = student.getCohort();
+            responses.add(StudentResponseDTO.builder()
+                    .id(student.getId())
+                    .fullNames(student.getFullNames())
+                    .emailAddress(student.getEmailAddress())
+                    .phoneNumber(student.getPhoneNumber())
+                    .dateOfBirth(student.getDateOfBirth())
+                    .homeAddress(student.getHomeAddress())
+                    .cohort(CohortResponseDTO.builder()
+                            .id(cohort.getId())
+                            .cohortName(cohort.getCohortName())
+                            .duration(cohort.getDuration())
+                            .startDate(cohort.getStartDate())
+                            .imageUrl(cohort.getImageUrl())
+                            .facilitator(userResponse(cohort.getFacilitator()))
+                            .build())
+                    .qualification(student.getQualification())
+                    .progress(student.getProgress())
+                    .status(student.getStatus())
+                    .createdBy(userResponse(student.getCreatedBy()))
+                    .createdAt(student.getCreatedAt())
+                    .lastUpdated(student.getLastUpdated())
+                    .build());
+        }
+        return responses;
+    }
+
+    private static UserResponseDTO userResponse(User user) {
+        return UserResponseDTO.builder()
+                .id(user.getId())
+                .fullName(user.getFullName())
+                .email(user.getEmail())
+                .role(user.getRole().name())
+                .build();
+    }
+}
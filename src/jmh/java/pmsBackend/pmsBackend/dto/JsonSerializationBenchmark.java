@@ -0,0 +1,57 @@
+package pmsBackend.pmsBackend.dto;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import pmsBackend.pmsBackend.BenchmarkFixtures;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Response serialisation for GET /api/students: a cursor page of StudentResponseDTOs, written with an
+// ObjectMapper configured the way Spring Boot configures the application's
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JsonSerializationBenchmark {
+
+    @Param({"20", "100"})
+    private int pageSize;
+
+    private ObjectMapper objectMapper;
+    private CursorPageResponseDTO<StudentResponseDTO> page;
+
+    @Setup
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+        List<StudentResponseDTO> items = BenchmarkFixtures.studentResponses(pageSize);
+        page = CursorPageResponseDTO.<StudentResponseDTO>builder()
+                .items(items)
+                .size(items.size())
+                .hasMore(true)
+                .nextCursor("Q1JFQVRFRF9BVHxBU0N8MTAwMTl8MjAyNS0wMS0xNVQwOTo1MDoxMi4xMjM0NTY")
+                .build();
+    }
+
+    @Benchmark
+    public byte[] studentPage() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(page);
+    }
+}
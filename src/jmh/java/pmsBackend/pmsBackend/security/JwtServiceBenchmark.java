@@ -0,0 +1,68 @@
+package pmsBackend.pmsBackend.security;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import pmsBackend.pmsBackend.entity.Role;
+import pmsBackend.pmsBackend.entity.User;
+
+import java.util.concurrent.TimeUnit;
+
+// Per-request token handling in JwtAuthenticationFilter: the old four-parse sequence vs. parseToken()
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtServiceBenchmark {
+
+    private static final String SECRET = "thisisasecretkeythatsuperlongandshouldnotbeinprowithoutbeingsecurelystored";
+
+    private JwtService jwtService;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        jwtService = new JwtService(SECRET, 86_400_000L);
+        token = jwtService.generateToken(User.builder()
+                .email("admin@pms.test")
+                .role(Role.ADMIN)
+                .build());
+    }
+
+    // extractUsername, isTokenValid (extractUsername + validateToken) and extractAuthorities,
+    // each building a fresh parser, exactly as the filter used to do
+    @Benchmark
+    @SuppressWarnings("deprecation")
+    public void legacyFourParses(Blackhole blackhole) {
+        blackhole.consume(Jwts.parser().setSigningKey(SECRET).parseClaimsJws(token).getBody().getSubject());
+        blackhole.consume(Jwts.parser().setSigningKey(SECRET).parseClaimsJws(token).getBody().getSubject());
+        blackhole.consume(Jwts.parser().setSigningKey(SECRET).parseClaimsJws(token));
+        Claims claims = Jwts.parser().setSigningKey(SECRET).parseClaimsJws(token).getBody();
+        blackhole.consume(claims.get("authorities"));
+    }
+
+    @Benchmark
+    public ParsedToken singleParse() {
+        return jwtService.parseToken(token);
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtService.generateToken(User.builder()
+                .email("admin@pms.test")
+                .role(Role.ADMIN)
+                .build());
+    }
+}
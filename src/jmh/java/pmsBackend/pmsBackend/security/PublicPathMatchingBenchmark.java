@@ -0,0 +1,39 @@
+package pmsBackend.pmsBackend.security;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+// The public-path check JwtAuthenticationFilter runs on every request. Protected API paths are the
+// common case and the worst one: every prefix is tried before falling through.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PublicPathMatchingBenchmark {
+
+    @Param({"/api/students", "/api/auth/login", "/swagger-ui/index.html"})
+    private String requestUri;
+
+    // What the filter did before: a stream pipeline and a bound method reference per request
+    @Benchmark
+    public boolean streamAnyMatch() {
+        return JwtAuthenticationFilter.PUBLIC_PATHS.stream().anyMatch(requestUri::startsWith);
+    }
+
+    @Benchmark
+    public boolean isPublicPath() {
+        return JwtAuthenticationFilter.isPublicPath(requestUri);
+    }
+}
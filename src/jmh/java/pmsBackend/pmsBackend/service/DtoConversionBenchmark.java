@@ -0,0 +1,80 @@
+package pmsBackend.pmsBackend.service;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import pmsBackend.pmsBackend.BenchmarkFixtures;
+import pmsBackend.pmsBackend.dto.CohortResponseDTO;
+import pmsBackend.pmsBackend.dto.StudentResponseDTO;
+import pmsBackend.pmsBackend.entity.Cohort;
+import pmsBackend.pmsBackend.entity.Student;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+// Entity -> DTO conversion for one page of students and for the cohort list. Cohort lookups are
+// answered from a map, standing in for a warm cohort cache, so only the conversion is measured.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DtoConversionBenchmark {
+
+    @Param({"20", "100"})
+    private int pageSize;
+
+    private StudentService studentService;
+    private CohortService cohortService;
+    private List<Student> students;
+    private List<Cohort> cohorts;
+
+    @Setup
+    public void setUp() {
+        cohorts = BenchmarkFixtures.cohorts(pageSize);
+        students = BenchmarkFixtures.students(pageSize, cohorts.subList(0, Math.min(5, cohorts.size())));
+
+        Map<Long, CohortResponseDTO> cachedCohorts = new HashMap<>();
+        CohortService converter = new CohortService(null, null, null, null, null, null);
+        for (Cohort cohort : cohorts) {
+            cachedCohorts.put(cohort.getId(), converter.convertToCohortResponseDTO(cohort));
+        }
+        cohortService = new CohortService(null, null, null, null, null, null) {
+            @Override
+            public CohortResponseDTO getCohortById(Long id) {
+                return cachedCohorts.get(id);
+            }
+        };
+        studentService = new StudentService(null, null, null, cohortService, null, null, null);
+    }
+
+    @Benchmark
+    public List<StudentResponseDTO> studentPage() {
+        List<StudentResponseDTO> page = new ArrayList<>(students.size());
+        for (Student student : students) {
+            page.add(studentService.convertToStudentResponseDTO(student));
+        }
+        return page;
+    }
+
+    @Benchmark
+    public List<CohortResponseDTO> cohortList() {
+        List<CohortResponseDTO> list = new ArrayList<>(cohorts.size());
+        for (Cohort cohort : cohorts) {
+            list.add(cohortService.convertToCohortResponseDTO(cohort));
+        }
+        return list;
+    }
+}
@@ -1,6 +1,8 @@
 package pmsBackend.pmsBackend.config;
 
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationProvider;
@@ -8,9 +10,15 @@ import org.springframework.security.authentication.dao.DaoAuthenticationProvider
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder; // Import it here
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import pmsBackend.pmsBackend.repository.UserRepository;
+import pmsBackend.pmsBackend.security.BCryptCalibration;
 
+import java.time.Duration;
+import java.util.Map;
+
+@Slf4j
 @Configuration
 @RequiredArgsConstructor
 public class ApplicationConfig {
@@ -18,6 +26,24 @@ public class ApplicationConfig {
     private final UserRepository userRepository;
     // REMOVED: private final PasswordEncoder passwordEncoder; // No longer injected here, defined below
 
+    // Fixed BCrypt cost; 0 means calibrate at startup against target-verify-time
+    @Value("${security.password.bcrypt.strength:0}")
+    private int bcryptStrength;
+
+    @Value("${security.password.bcrypt.target-verify-time:50ms}")
+    private Duration bcryptTargetVerifyTime;
+
+    @Value("${security.password.bcrypt.min-strength:10}")
+    private int bcryptMinStrength;
+
+    @Value("${security.password.bcrypt.max-strength:14}")
+    private int bcryptMaxStrength;
+
+    // Set for the AOT/CDS training run (aot profile), which refreshes the context and exits. It never
+    // hashes a password, so it skips the calibration probe and its dozen-odd BCrypt rounds.
+    @Value("${spring.context.exit:}")
+    private String contextExit;
+
     @Bean
     public UserDetailsService userDetailsService() {
         return email -> userRepository.findByEmail(email)
@@ -25,9 +51,25 @@ public class ApplicationConfig {
     }
 
     // IMPORTANT: DEFINE THE PasswordEncoder BEAN HERE, AND ONLY HERE.
+    // New hashes are written as {bcrypt}<hash> at the configured/calibrated cost. Hashes stored before
+    // the prefix existed, or at a lower cost, still verify and report upgradeEncoding() == true,
+    // so UserService re-hashes them on the next successful login.
     @Bean
     public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+        int strength;
+        if (bcryptStrength > 0) {
+            strength = bcryptStrength;
+        } else if (!contextExit.isEmpty()) {
+            strength = bcryptMinStrength;
+        } else {
+            strength = BCryptCalibration.calibrate(bcryptTargetVerifyTime, bcryptMinStrength, bcryptMaxStrength);
+        }
+        log.info("Using BCrypt strength {} (target verify time {})", strength, bcryptTargetVerifyTime);
+
+        BCryptPasswordEncoder bcrypt = new BCryptPasswordEncoder(strength);
+        DelegatingPasswordEncoder encoder = new DelegatingPasswordEncoder("bcrypt", Map.of("bcrypt", bcrypt));
+        encoder.setDefaultPasswordEncoderForMatches(bcrypt); // legacy, un-prefixed BCrypt hashes
+        return encoder;
     }
 
     @Bean
@@ -0,0 +1,65 @@
+package pmsBackend.pmsBackend.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import java.time.Duration;
+
+// In-process caches. Hit/miss/eviction counts are published through actuator
+// (/actuator/metrics/cache.gets, cache.evictions, ... tagged with the cache name).
+//
+// The caching advice is ordered just outside the transaction advice: a cache hit never opens a
+// transaction (or borrows a connection), and @CacheEvict on a @Transactional method runs after commit,
+// so a concurrent reader can't re-cache the pre-commit row.
+@Configuration
+@EnableCaching(order = Ordered.LOWEST_PRECEDENCE - 1)
+public class CacheConfig {
+
+    // Authenticated principals (User) keyed by email, read by JwtAuthenticationFilter
+    public static final String PRINCIPALS = "principals";
+
+    // CohortResponseDTO keyed by cohort id
+    public static final String COHORTS = "cohorts";
+
+    // The full cohort list and its DataVersion (two entries)
+    public static final String COHORT_LIST = "cohortList";
+
+    @Value("${cache.principals.max-size:10000}")
+    private long principalsMaxSize;
+
+    @Value("${cache.principals.ttl:10m}")
+    private Duration principalsTtl;
+
+    @Value("${cache.cohorts.max-size:1000}")
+    private long cohortsMaxSize;
+
+    @Value("${cache.cohorts.ttl:30m}")
+    private Duration cohortsTtl;
+
+    @Bean
+    public CacheManager cacheManager() {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+        cacheManager.registerCustomCache(PRINCIPALS, Caffeine.newBuilder()
+                .maximumSize(principalsMaxSize)
+                .expireAfterWrite(principalsTtl)
+                .recordStats()
+                .build());
+        cacheManager.registerCustomCache(COHORTS, Caffeine.newBuilder()
+                .maximumSize(cohortsMaxSize)
+                .expireAfterWrite(cohortsTtl)
+                .recordStats()
+                .build());
+        cacheManager.registerCustomCache(COHORT_LIST, Caffeine.newBuilder()
+                .maximumSize(2)
+                .expireAfterWrite(cohortsTtl)
+                .recordStats()
+                .build());
+        return cacheManager;
+    }
+}
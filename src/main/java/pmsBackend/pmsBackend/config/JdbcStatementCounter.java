@@ -0,0 +1,106 @@
+package pmsBackend.pmsBackend.config;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+// Counts the SQL statements Hibernate prepares on the current thread while a Scope is open.
+// Registered as Hibernate's statement inspector (MetricsConfig); threads without an open scope
+// pay one ThreadLocal lookup per statement. Scopes nest (a test's budget around a request that
+// the metrics filter also counts), and every open scope sees each statement.
+public class JdbcStatementCounter implements StatementInspector {
+
+    private static final ThreadLocal<Scope> CURRENT = new ThreadLocal<>();
+
+    // "in (?, ?, ?)" and "in (?)" are the same query shape
+    private static final Pattern PARAMETER_LIST = Pattern.compile("\\(\\s*\\?(\\s*,\\s*\\?)*\\s*\\)");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    // Pooled id fetches (one per 50 inserted students) repeat by design; counted, but never flagged
+    private static final Pattern SEQUENCE_CALL = Pattern.compile("(?i)next value for|nextval\\(");
+
+    // Starts counting on this thread until the scope is closed. With trackShapes, statements are
+    // also grouped by SQL shape, which is what exposes an N+1 (the same select once per row).
+    public static Scope open(boolean trackShapes) {
+        Scope scope = new Scope(CURRENT.get(), trackShapes);
+        CURRENT.set(scope);
+        return scope;
+    }
+
+    @Override
+    public String inspect(String sql) {
+        Scope scope = CURRENT.get();
+        if (scope != null) {
+            String shape = scope.needsShapes() && !SEQUENCE_CALL.matcher(sql).find() ? shape(sql) : null;
+            for (; scope != null; scope = scope.parent) {
+                scope.record(shape);
+            }
+        }
+        return sql; // unchanged
+    }
+
+    static String shape(String sql) {
+        return WHITESPACE.matcher(PARAMETER_LIST.matcher(sql.trim()).replaceAll("(?)")).replaceAll(" ");
+    }
+
+    public static final class Scope implements AutoCloseable {
+        private final Scope parent;
+        private final Map<String, Integer> shapes;
+        private int count;
+        private boolean closed;
+
+        private Scope(Scope parent, boolean trackShapes) {
+            this.parent = parent;
+            this.shapes = trackShapes ? new HashMap<>() : null;
+        }
+
+        public int count() {
+            return count;
+        }
+
+        // Shapes that ran more than threshold times, most frequent first (empty without trackShapes)
+        public Map<String, Integer> repeatedShapes(int threshold) {
+            Map<String, Integer> repeated = new LinkedHashMap<>();
+            if (shapes != null) {
+                shapes.entrySet().stream()
+                        .filter(entry -> entry.getValue() > threshold)
+                        .sorted(Map.Entry.<String, Integer>comparingByValue().reversed())
+                        .forEach(entry -> repeated.put(entry.getKey(), entry.getValue()));
+            }
+            return repeated;
+        }
+
+        private boolean needsShapes() {
+            for (Scope scope = this; scope != null; scope = scope.parent) {
+                if (scope.shapes != null) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private void record(String shape) {
+            count++;
+            if (shapes != null && shape != null) {
+                shapes.merge(shape, 1, Integer::sum);
+            }
+        }
+
+        // Scopes close innermost first; the enclosing scope becomes current again
+        @Override
+        public void close() {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            if (parent == null) {
+                CURRENT.remove();
+            } else {
+                CURRENT.set(parent);
+            }
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package pmsBackend.pmsBackend.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.Map;
+
+// Records http.server.jdbc.statements for every request. With repeated-statement detection on
+// (repeatedThreshold > 0), a request that runs one SQL shape more than repeatedThreshold times,
+// the signature of a lazy association touched in a loop, is logged and counted in
+// http.server.jdbc.repeated.
+@Slf4j
+public class JdbcStatementMetricsFilter extends OncePerRequestFilter {
+
+    private final MeterRegistry meterRegistry;
+    private final int repeatedThreshold;
+
+    public JdbcStatementMetricsFilter(MeterRegistry meterRegistry, int repeatedThreshold) {
+        this.meterRegistry = meterRegistry;
+        this.repeatedThreshold = repeatedThreshold;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        JdbcStatementCounter.Scope statements = JdbcStatementCounter.open(repeatedThreshold > 0);
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            statements.close();
+            // Same uri tag as http.server.requests: the matched route pattern, never the raw path
+            Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            String uri = pattern == null ? "UNKNOWN" : pattern.toString();
+            DistributionSummary.builder("http.server.jdbc.statements")
+                    .description("SQL statements executed while handling a request")
+                    .tag("method", request.getMethod())
+                    .tag("uri", uri)
+                    .register(meterRegistry)
+                    .record(statements.count());
+            if (repeatedThreshold > 0) {
+                reportRepeated(request.getMethod(), uri, statements.repeatedShapes(repeatedThreshold));
+            }
+        }
+    }
+
+    private void reportRepeated(String method, String uri, Map<String, Integer> repeated) {
+        if (repeated.isEmpty()) {
+            return;
+        }
+        Counter.builder("http.server.jdbc.repeated")
+                .description("Requests that ran the same SQL statement more than the configured threshold")
+                .tag("method", method)
+                .tag("uri", uri)
+                .register(meterRegistry)
+                .increment();
+        repeated.forEach((sql, count) ->
+                log.warn("Possible N+1 in {} {}: statement ran {} times: {}", method, uri, count, sql));
+    }
+}
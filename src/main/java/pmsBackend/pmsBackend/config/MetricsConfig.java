@@ -0,0 +1,47 @@
+package pmsBackend.pmsBackend.config;
+
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+// Application metrics on top of what Spring Boot publishes (http.server.requests,
+// spring.data.repository.invocations, hikaricp.*, hibernate.*, cache.*), all scraped from
+// /actuator/prometheus. Histogram and percentile settings live in application.properties.
+//
+//  - pms.service: @Timed on StudentService, CohortService and UserService, tagged class/method/exception
+//  - jwt.sign / jwt.parse: @Timed on JwtService (BCrypt is timed by PasswordHasher)
+//  - http.server.jdbc.statements: SQL statements Hibernate prepared per request, tagged method/uri
+//  - http.server.jdbc.repeated: requests flagged as a possible N+1 (diagnostics.jdbc.repeated-statements)
+@Configuration
+public class MetricsConfig {
+
+    // Makes @Timed work on any Spring bean
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry meterRegistry) {
+        return new TimedAspect(meterRegistry);
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer statementCountingCustomizer() {
+        return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, new JdbcStatementCounter());
+    }
+
+    // Runs just inside the http.server.requests observation, so statements made by the JWT
+    // filter (principal cache misses) count towards the request as well
+    @Bean
+    public FilterRegistrationBean<JdbcStatementMetricsFilter> jdbcStatementMetricsFilter(
+            MeterRegistry meterRegistry,
+            @Value("${diagnostics.jdbc.repeated-statements.enabled:false}") boolean detectRepeated,
+            @Value("${diagnostics.jdbc.repeated-statements.threshold:10}") int repeatedThreshold) {
+        FilterRegistrationBean<JdbcStatementMetricsFilter> registration = new FilterRegistrationBean<>(
+                new JdbcStatementMetricsFilter(meterRegistry, detectRepeated ? repeatedThreshold : 0));
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 2);
+        return registration;
+    }
+}
@@ -0,0 +1,75 @@
+package pmsBackend.pmsBackend.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.List;
+
+// Read/write split, on with pms.datasource.replica.enabled=true. Replaces Spring Boot's single pool
+// with two Hikari pools, "primary" (spring.datasource.*, spring.datasource.hikari.*) and "replica"
+// (pms.datasource.replica.url/username/password, pms.datasource.replica.hikari.*), each with its own
+// hikaricp.* metrics tagged by pool. The application DataSource routes between them (see
+// ReadWriteRoutingDataSource), so services only declare @Transactional(readOnly = true) as before.
+@Configuration
+@ConditionalOnProperty(name = "pms.datasource.replica.enabled", havingValue = "true")
+public class ReadReplicaConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    // Credentials default to the primary's
+    @Bean
+    @ConfigurationProperties("pms.datasource.replica.hikari")
+    public HikariDataSource replicaDataSource(DataSourceProperties properties,
+                                              @Value("${pms.datasource.replica.url}") String url,
+                                              @Value("${pms.datasource.replica.username:}") String username,
+                                              @Value("${pms.datasource.replica.password:}") String password) {
+        HikariDataSource dataSource = DataSourceBuilder.create()
+                .type(HikariDataSource.class)
+                .url(url)
+                .username(username.isEmpty() ? properties.determineUsername() : username)
+                .password(password.isEmpty() ? properties.determinePassword() : password)
+                .build();
+        dataSource.setPoolName("replica");
+        dataSource.setReadOnly(true);
+        return dataSource;
+    }
+
+    @Bean
+    public ReplicaLagMonitor replicaLagMonitor(
+            HikariDataSource replicaDataSource, MeterRegistry meterRegistry,
+            @Value("${pms.datasource.replica.lag-query}") String lagQuery,
+            @Value("${pms.datasource.replica.max-lag:5s}") Duration maxLag) {
+        return new ReplicaLagMonitor(replicaDataSource, lagQuery, maxLag, meterRegistry);
+    }
+
+    // Bean "dataSource": JPA, JdbcTemplate and the connection limiter (VirtualThreadConfig) all use it
+    @Bean
+    @Primary
+    public DataSource dataSource(
+            HikariDataSource primaryDataSource, HikariDataSource replicaDataSource,
+            ReplicaLagMonitor replicaLagMonitor, MeterRegistry meterRegistry,
+            @Value("${pms.datasource.replica.read-your-writes-window:5s}") Duration readYourWritesWindow,
+            @Value("${pms.datasource.replica.primary-only-transactions:}") List<String> primaryOnlyTransactions) {
+        ReadWriteRoutingDataSource routing = new ReadWriteRoutingDataSource(primaryDataSource, replicaDataSource,
+                replicaLagMonitor, readYourWritesWindow, primaryOnlyTransactions, meterRegistry);
+        routing.afterPropertiesSet();
+        return new LazyConnectionDataSourceProxy(routing);
+    }
+}
@@ -0,0 +1,148 @@
+package pmsBackend.pmsBackend.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+// Sends read-only transactions to the replica pool and everything else to the primary. Must sit
+// behind a LazyConnectionDataSourceProxy (see ReadReplicaConfig): the transaction manager asks for
+// a connection before the transaction is marked read-only, the proxy defers that until the first
+// statement. Reads still go to the primary when:
+//
+//  - the replica is behind by more than max-lag, or unreachable (ReplicaLagMonitor)
+//  - the current user committed a read-write transaction within the read-your-writes window, so
+//    the user sees their own change even if the replica has not replayed it yet (per instance)
+//  - the transaction name starts with one of the primary-only prefixes: reads whose results are
+//    cached long-term, where a stale replica row would outlive the lag
+//
+// Every routing decision is counted in datasource.routing, tagged target and reason.
+public final class ReadWriteRoutingDataSource extends AbstractRoutingDataSource {
+
+    enum Target { PRIMARY, REPLICA }
+
+    private final HikariDataSource primary;
+    private final HikariDataSource replica;
+    private final ReplicaLagMonitor lagMonitor;
+    private final List<String> primaryOnlyTransactions;
+    private final Cache<String, Boolean> recentWriters;
+
+    private final Counter writes;
+    private final Counter replicaReads;
+    private final Counter laggingReads;
+    private final Counter unavailableReads;
+    private final Counter ownWriteReads;
+    private final Counter primaryOnlyReads;
+
+    public ReadWriteRoutingDataSource(HikariDataSource primary, HikariDataSource replica, ReplicaLagMonitor lagMonitor,
+                                      Duration readYourWritesWindow, List<String> primaryOnlyTransactions,
+                                      MeterRegistry meterRegistry) {
+        this.primary = primary;
+        this.replica = replica;
+        this.lagMonitor = lagMonitor;
+        this.primaryOnlyTransactions = primaryOnlyTransactions;
+        this.recentWriters = Caffeine.newBuilder()
+                .maximumSize(100_000)
+                .expireAfterWrite(readYourWritesWindow)
+                .build();
+        setTargetDataSources(Map.of(Target.PRIMARY, primary, Target.REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+
+        this.writes = routed(meterRegistry, Target.PRIMARY, "write");
+        this.replicaReads = routed(meterRegistry, Target.REPLICA, "read");
+        this.laggingReads = routed(meterRegistry, Target.PRIMARY, "replica-lag");
+        this.unavailableReads = routed(meterRegistry, Target.PRIMARY, "replica-unavailable");
+        this.ownWriteReads = routed(meterRegistry, Target.PRIMARY, "read-your-writes");
+        this.primaryOnlyReads = routed(meterRegistry, Target.PRIMARY, "primary-only");
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            writes.increment();
+            rememberWriter();
+            return Target.PRIMARY;
+        }
+        if (!lagMonitor.isUsable()) {
+            laggingReads.increment();
+            return Target.PRIMARY;
+        }
+        String user = currentUser();
+        if (user != null && recentWriters.getIfPresent(user) != null) {
+            ownWriteReads.increment();
+            return Target.PRIMARY;
+        }
+        String transaction = TransactionSynchronizationManager.getCurrentTransactionName();
+        if (transaction != null && primaryOnlyTransactions.stream().anyMatch(transaction::startsWith)) {
+            primaryOnlyReads.increment();
+            return Target.PRIMARY;
+        }
+        replicaReads.increment();
+        return Target.REPLICA;
+    }
+
+    // A replica that refuses connections is taken out of rotation and the read retried on the primary
+    @Override
+    public Connection getConnection() throws SQLException {
+        DataSource target = determineTargetDataSource();
+        try {
+            return target.getConnection();
+        } catch (SQLException e) {
+            if (target != replica) {
+                throw e;
+            }
+            lagMonitor.markUnavailable(e);
+            unavailableReads.increment();
+            return primary.getConnection();
+        }
+    }
+
+    // Both pools together, the default cap for ConnectionLimitingDataSource
+    public int getMaximumPoolSize() {
+        return primary.getMaximumPoolSize() + replica.getMaximumPoolSize();
+    }
+
+    // The window starts when the write is visible on the primary, i.e. at commit
+    private void rememberWriter() {
+        String user = currentUser();
+        if (user == null) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            recentWriters.put(user, Boolean.TRUE);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                recentWriters.put(user, Boolean.TRUE);
+            }
+        });
+    }
+
+    private static String currentUser() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication == null || !authentication.isAuthenticated() ? null : authentication.getName();
+    }
+
+    private static Counter routed(MeterRegistry meterRegistry, Target target, String reason) {
+        return Counter.builder("datasource.routing")
+                .description("Connections handed out by the read/write routing DataSource")
+                .tag("target", target.name().toLowerCase())
+                .tag("reason", reason)
+                .register(meterRegistry);
+    }
+}
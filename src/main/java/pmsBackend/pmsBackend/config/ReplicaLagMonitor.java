@@ -0,0 +1,73 @@
+package pmsBackend.pmsBackend.config;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+// Polls the replica for its replication lag (pms.datasource.replica.lag-query, in seconds) and tells
+// the routing DataSource whether read-only work may go there. The replica counts as unusable until
+// the first successful check, while its lag exceeds max-lag, and after a failed check or connection
+// attempt until the next successful one. Published as datasource.replica.lag (NaN when unknown).
+@Slf4j
+public final class ReplicaLagMonitor {
+
+    private final JdbcTemplate replica;
+    private final String lagQuery;
+    private final Duration maxLag;
+
+    private volatile double lagSeconds = Double.NaN;
+    private volatile boolean usable;
+
+    public ReplicaLagMonitor(DataSource replicaDataSource, String lagQuery, Duration maxLag, MeterRegistry meterRegistry) {
+        this.replica = new JdbcTemplate(replicaDataSource);
+        this.replica.setQueryTimeout(5);
+        this.lagQuery = lagQuery;
+        this.maxLag = maxLag;
+        Gauge.builder("datasource.replica.lag", this, ReplicaLagMonitor::getLagSeconds)
+                .description("Replication lag of the read replica as of the last check")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${pms.datasource.replica.lag-check-interval:2000}")
+    public void refresh() {
+        try {
+            Double lag = replica.queryForObject(lagQuery, Double.class);
+            lagSeconds = lag == null ? 0 : lag;
+            update(lagSeconds * 1000 <= maxLag.toMillis(), "lag " + lagSeconds + " s");
+        } catch (DataAccessException e) {
+            markUnavailable(e);
+        }
+    }
+
+    public boolean isUsable() {
+        return usable;
+    }
+
+    public double getLagSeconds() {
+        return lagSeconds;
+    }
+
+    // Called when a replica connection could not be opened; the next successful check restores it
+    public void markUnavailable(Exception cause) {
+        lagSeconds = Double.NaN;
+        update(false, cause.getMessage());
+    }
+
+    private void update(boolean nowUsable, String reason) {
+        if (usable != nowUsable) {
+            if (nowUsable) {
+                log.info("Read replica in use ({})", reason);
+            } else {
+                log.warn("Read replica not used, reads go to the primary ({})", reason);
+            }
+        }
+        usable = nowUsable;
+    }
+}
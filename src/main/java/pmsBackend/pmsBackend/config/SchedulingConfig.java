@@ -0,0 +1,14 @@
+package pmsBackend.pmsBackend.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+// Enables @Scheduled housekeeping jobs (e.g. TokenRevocationService.purgeExpired) and @Async methods.
+// Both use Spring Boot's task executor/scheduler, which run on virtual threads when
+// spring.threads.virtual.enabled=true (see VirtualThreadConfig).
+@Configuration
+@EnableAsync
+@EnableScheduling
+public class SchedulingConfig {
+}
@@ -1,8 +1,10 @@
 package pmsBackend.pmsBackend.config;
 
+import jakarta.servlet.DispatcherType;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.AuthenticationProvider;
 import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
@@ -12,6 +14,7 @@ import org.springframework.security.config.annotation.web.configuration.EnableWe
 import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
+import org.springframework.security.web.util.matcher.RequestMatcher;
 // Remove these unused imports related to CORS as CorsConfig handles them
 // import org.springframework.web.cors.CorsConfiguration;
 // import org.springframework.web.cors.CorsConfigurationSource;
@@ -30,6 +33,7 @@ public class SecurityConfig {
     private final JwtAuthenticationFilter jwtAuthFilter;
     private final AuthenticationProvider authenticationProvider; // This bean comes from ApplicationConfig
     private final CorsConfig corsConfig; // <--- NEW: Inject your CorsConfig class here
+    private final Environment environment;
 
     @Bean
     public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
@@ -38,11 +42,19 @@ public class SecurityConfig {
                 // FIX HERE: Tell Spring Security to use your custom CorsConfigurationSource bean
                 .cors(cors -> cors.configurationSource(corsConfig.corsConfigurationSource())) // <--- CHANGED THIS LINE
                 .authorizeHttpRequests(auth -> auth
+                        // Streaming responses (e.g. student export) finish on an async dispatch; the
+                        // request was already authorized on the initial dispatch
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
                         .requestMatchers(
                                 "/v3/api-docs/**",
                                 "/swagger-ui.html",
                                 "/swagger-ui/**"
                         ).permitAll()
+                        // Scraped by Prometheus without a token, but only on the internal management port
+                        .requestMatchers(prometheusOnManagementPort()).permitAll()
+                        // Liveness probes; everything else in the actuator (metrics, internals) is for admins
+                        .requestMatchers("/actuator/health", "/actuator/health/**").permitAll()
+                        .requestMatchers("/actuator/**").hasRole("ADMIN")
                         .requestMatchers(
                                 "/api/auth/register",
                                 "/api/auth/login",
@@ -61,6 +73,18 @@ public class SecurityConfig {
         return http.build();
     }
 
+    // The management server (management.server.port) shares this filter chain; Spring Boot publishes
+    // its actual port as local.management.port once it has started. Without a separate management
+    // port the property is absent and the scrape needs an admin token like the rest of the actuator.
+    private RequestMatcher prometheusOnManagementPort() {
+        return request -> {
+            Integer managementPort = environment.getProperty("local.management.port", Integer.class);
+            return managementPort != null
+                    && request.getLocalPort() == managementPort
+                    && "/actuator/prometheus".equals(request.getRequestURI());
+        };
+    }
+
     @Bean
     public AuthenticationManager authenticationManager(AuthenticationConfiguration config) throws Exception {
         return config.getAuthenticationManager();
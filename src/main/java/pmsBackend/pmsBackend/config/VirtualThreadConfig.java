@@ -0,0 +1,86 @@
+package pmsBackend.pmsBackend.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.time.Duration;
+
+// Active when spring.threads.virtual.enabled=true on a Java 21+ runtime. Spring Boot then runs Tomcat
+// request handling, @Async and @Scheduled work on virtual threads; this adds what that needs around it:
+// a connection limiter in front of Hikari and carrier-pinning diagnostics.
+@Configuration
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class VirtualThreadConfig {
+
+    // Wraps the application DataSource (bean "dataSource") only; by default the cap matches the pool size
+    // (both pools' with a read replica, see ReadReplicaConfig)
+    @Bean
+    public static BeanPostProcessor connectionLimitingDataSourcePostProcessor(Environment environment) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!"dataSource".equals(beanName) || !(bean instanceof DataSource dataSource)
+                        || bean instanceof ConnectionLimitingDataSource) {
+                    return bean;
+                }
+                int maxConnections = environment.getProperty("pms.datasource.limiter.max-connections", Integer.class,
+                        poolSize(dataSource));
+                Duration acquireTimeout = environment.getProperty("pms.datasource.limiter.acquire-timeout",
+                        Duration.class, Duration.ofSeconds(5));
+                return new ConnectionLimitingDataSource(dataSource, maxConnections, acquireTimeout);
+            }
+        };
+    }
+
+    private static int poolSize(DataSource dataSource) {
+        if (dataSource instanceof HikariDataSource hikari) {
+            return hikari.getMaximumPoolSize();
+        }
+        if (dataSource instanceof LazyConnectionDataSourceProxy proxy
+                && proxy.getTargetDataSource() instanceof ReadWriteRoutingDataSource routing) {
+            return routing.getMaximumPoolSize();
+        }
+        return 10;
+    }
+
+    // datasource.limiter.active / .waiting, next to Hikari's own hikaricp.* pool metrics
+    @Bean
+    public MeterBinder connectionLimiterMetrics(DataSource dataSource) {
+        return registry -> {
+            try {
+                if (!dataSource.isWrapperFor(ConnectionLimitingDataSource.class)) {
+                    return;
+                }
+                ConnectionLimitingDataSource limiter = dataSource.unwrap(ConnectionLimitingDataSource.class);
+                Gauge.builder("datasource.limiter.active", limiter, ConnectionLimitingDataSource::getActiveConnections)
+                        .description("Connections currently checked out through the limiter")
+                        .register(registry);
+                Gauge.builder("datasource.limiter.waiting", limiter, ConnectionLimitingDataSource::getWaitingCallers)
+                        .description("Callers waiting for a connection permit")
+                        .register(registry);
+            } catch (SQLException e) {
+                throw new IllegalStateException("Could not inspect the DataSource", e);
+            }
+        };
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "diagnostics.virtual-threads.pinning.enabled", havingValue = "true", matchIfMissing = true)
+    public VirtualThreadPinningMonitor virtualThreadPinningMonitor(MeterRegistry meterRegistry, Environment environment) {
+        Duration threshold = environment.getProperty("diagnostics.virtual-threads.pinning.threshold",
+                Duration.class, Duration.ofMillis(20));
+        return new VirtualThreadPinningMonitor(threshold, meterRegistry);
+    }
+}
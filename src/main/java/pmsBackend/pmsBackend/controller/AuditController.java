@@ -0,0 +1,45 @@
+package pmsBackend.pmsBackend.controller;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import pmsBackend.pmsBackend.dto.AuditLogResponseDTO;
+import pmsBackend.pmsBackend.dto.CursorPageResponseDTO;
+import pmsBackend.pmsBackend.entity.AuditEntityType;
+import pmsBackend.pmsBackend.service.AuditService;
+
+@RestController
+@RequestMapping("/api/audit")
+public class AuditController {
+
+    private final AuditService auditService;
+
+    @Autowired
+    public AuditController(AuditService auditService) {
+        this.auditService = auditService;
+    }
+
+
+    // Newest first, keyset-paginated; entries appear shortly after the change commits
+    @GetMapping
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<CursorPageResponseDTO<AuditLogResponseDTO>> getAuditLog(
+            @RequestParam(required = false) AuditEntityType entityType,
+            @RequestParam(required = false) Long entityId,
+            @RequestParam(required = false) Long actorUserId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        try {
+            return ResponseEntity.ok(auditService.getAuditPage(entityType, entityId, actorUserId, cursor, size));
+        } catch (IllegalArgumentException e) {
+            return new ResponseEntity(e.getMessage(), HttpStatus.BAD_REQUEST);
+        } catch (Exception e) {
+            return new ResponseEntity("Error retrieving audit log: " + e.getMessage(), HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+}
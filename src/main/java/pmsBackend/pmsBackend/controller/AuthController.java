@@ -8,6 +8,7 @@ import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -19,6 +20,9 @@ import pmsBackend.pmsBackend.dto.UserResponseDTO;
 import pmsBackend.pmsBackend.entity.Role;
 import pmsBackend.pmsBackend.entity.User;
 import pmsBackend.pmsBackend.security.JwtService;
+import pmsBackend.pmsBackend.security.ParsedToken;
+import pmsBackend.pmsBackend.security.PasswordHashingBusyException;
+import pmsBackend.pmsBackend.security.TokenRevocationService;
 import pmsBackend.pmsBackend.service.UserService;
 
 import java.util.List;
@@ -31,6 +35,7 @@ public class AuthController {
 
     private final UserService userService;
     private final JwtService jwtService;
+    private final TokenRevocationService tokenRevocationService;
 
 
 
@@ -58,13 +63,32 @@ public class AuthController {
             @ApiResponse(responseCode = "400", description = "Invalid login request or missing fields"),
             @ApiResponse(responseCode = "401", description = "Unauthorized – incorrect email or password"),
             @ApiResponse(responseCode = "404", description = "User not found"),
-            @ApiResponse(responseCode = "500", description = "Internal server error")
+            @ApiResponse(responseCode = "500", description = "Internal server error"),
+            @ApiResponse(responseCode = "503", description = "Too many concurrent logins – retry after the Retry-After delay")
     })
     @PostMapping("/login")
     public String login(@Valid @RequestBody(description = "User login credentials", required = true)
                         @org.springframework.web.bind.annotation.RequestBody LoginRequest request) {
         var user = userService.authenticateUser(request);
-        return jwtService.generateToken(user.getEmail());
+        return jwtService.generateToken(user);
+    }
+
+
+
+
+
+    @Operation(summary = "Logout user", description = "Revokes the JWT used for this request")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "204", description = "Token revoked"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized – Invalid or missing token"),
+            @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    @PostMapping("/logout")
+    public ResponseEntity<Void> logout(Authentication authentication) {
+        if (authentication != null && authentication.getCredentials() instanceof ParsedToken token) {
+            tokenRevocationService.revokeToken(token);
+        }
+        return ResponseEntity.noContent().build();
     }
 
 
@@ -168,4 +192,16 @@ public class AuthController {
                            @org.springframework.web.bind.annotation.RequestBody Role role) {
         return userService.changeUserRole(id, role);
     }
-}
+
+
+
+
+
+    // Login/register bursts beyond the password-hashing pool's capacity get a fast 503
+    @ExceptionHandler(PasswordHashingBusyException.class)
+    public ResponseEntity<String> handlePasswordHashingBusy(PasswordHashingBusyException e) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()))
+                .body(e.getMessage());
+    }
+}
\ No newline at end of file
@@ -0,0 +1,45 @@
+package pmsBackend.pmsBackend.controller;
+
+import jakarta.persistence.EntityNotFoundException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import pmsBackend.pmsBackend.service.ChangeFeedService;
+import pmsBackend.pmsBackend.service.CohortService;
+
+@RestController
+@RequestMapping("/api/changes")
+public class ChangeFeedController {
+
+    private final ChangeFeedService changeFeedService;
+    private final CohortService cohortService;
+
+    @Autowired
+    public ChangeFeedController(ChangeFeedService changeFeedService, CohortService cohortService) {
+        this.changeFeedService = changeFeedService;
+        this.cohortService = cohortService;
+    }
+
+
+    // Server-Sent Events: a "student" or "cohort" event (a ChangeEvent as JSON) per committed change,
+    // only those touching cohortId when given. Replaces polling /api/students for dashboards.
+    @GetMapping
+    @PreAuthorize("hasAnyRole('ADMIN', 'FACILITATOR')")
+    public ResponseEntity<SseEmitter> subscribe(@RequestParam(required = false) Long cohortId) {
+        try {
+            if (cohortId != null) {
+                cohortService.getCohortById(cohortId); // cached existence check
+            }
+            return ResponseEntity.ok(changeFeedService.subscribe(cohortId));
+        } catch (EntityNotFoundException e) {
+            // No message body: the emitter return value handler only writes SseEmitter bodies
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
+        }
+    }
+}
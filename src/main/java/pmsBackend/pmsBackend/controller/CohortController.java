@@ -2,15 +2,25 @@ package pmsBackend.pmsBackend.controller;
 
 import jakarta.persistence.EntityNotFoundException;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Sort;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import pmsBackend.pmsBackend.dto.CohortRequestDTO;
 import pmsBackend.pmsBackend.dto.CohortResponseDTO;
+import pmsBackend.pmsBackend.dto.CohortRosterEntryDTO;
+import pmsBackend.pmsBackend.dto.CohortStatsDTO;
+import pmsBackend.pmsBackend.dto.CursorPageResponseDTO;
+import pmsBackend.pmsBackend.dto.FieldSelection;
+import pmsBackend.pmsBackend.dto.StudentSort;
+import pmsBackend.pmsBackend.entity.StudentStatus;
 import pmsBackend.pmsBackend.entity.User; // Import your User entity to cast AuthenticationPrincipal
 import pmsBackend.pmsBackend.service.CohortService;
+import pmsBackend.pmsBackend.service.CohortStatsService;
+import pmsBackend.pmsBackend.service.StudentService;
 
 import java.util.List;
 
@@ -19,10 +29,15 @@ import java.util.List;
 public class CohortController {
 
     private final CohortService cohortService;
+    private final CohortStatsService cohortStatsService;
+    private final StudentService studentService;
 
     @Autowired
-    public CohortController(CohortService cohortService) {
+    public CohortController(CohortService cohortService, CohortStatsService cohortStatsService,
+                            StudentService studentService) {
         this.cohortService = cohortService;
+        this.cohortStatsService = cohortStatsService;
+        this.studentService = studentService;
     }
 
 
@@ -45,10 +60,23 @@ public class CohortController {
 
     @GetMapping("/{id}")
     @PreAuthorize("hasAnyRole('ADMIN', 'FACILITATOR', 'STUDENT')")
-    public ResponseEntity<CohortResponseDTO> getCohortById(@PathVariable Long id) {
+    public ResponseEntity<Object> getCohortById(
+            @PathVariable Long id,
+            @RequestParam(required = false) String fields,
+            @RequestParam(required = false) String expand,
+            WebRequest webRequest) {
         try {
-            CohortResponseDTO cohort = cohortService.getCohortById(id);
-            return ResponseEntity.ok(cohort);
+            FieldSelection selection = fieldSelection(fields, expand);
+            // Version and body both come from the cohort caches, so revalidation usually touches no database
+            String eTag = ETags.of("cohort", id, selection, cohortService.getCohortsVersion());
+            CohortResponseDTO cohort = cohortService.getCohortById(id); // throws if missing, so no 304 for it
+            if (webRequest.checkNotModified(eTag)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).cacheControl(ETags.REVALIDATE).build(); // ETag header already set
+            }
+            Object body = selection == null ? cohort : cohortService.toFieldMap(cohort, selection);
+            return ResponseEntity.ok().eTag(eTag).cacheControl(ETags.REVALIDATE).body(body);
+        } catch (IllegalArgumentException e) {
+            return new ResponseEntity(e.getMessage(), HttpStatus.BAD_REQUEST);
         } catch (EntityNotFoundException e) {
             return new ResponseEntity(e.getMessage(), HttpStatus.NOT_FOUND);
         } catch (Exception e) {
@@ -59,16 +87,77 @@ public class CohortController {
 
     @GetMapping
     @PreAuthorize("hasAnyRole('ADMIN', 'FACILITATOR', 'STUDENT')")
-    public ResponseEntity<List<CohortResponseDTO>> getAllCohorts() {
+    public ResponseEntity<List<?>> getAllCohorts(
+            @RequestParam(required = false) String fields,
+            @RequestParam(required = false) String expand,
+            WebRequest webRequest) {
         try {
+            FieldSelection selection = fieldSelection(fields, expand);
+            String eTag = ETags.of("cohorts", selection, cohortService.getCohortsVersion());
+            if (webRequest.checkNotModified(eTag)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).cacheControl(ETags.REVALIDATE).build(); // ETag header already set
+            }
             List<CohortResponseDTO> cohorts = cohortService.getAllCohorts();
-            return ResponseEntity.ok(cohorts);
+            List<?> body = selection == null ? cohorts : cohorts.stream()
+                    .map(cohort -> cohortService.toFieldMap(cohort, selection))
+                    .toList();
+            return ResponseEntity.ok().eTag(eTag).cacheControl(ETags.REVALIDATE).body(body);
+        } catch (IllegalArgumentException e) {
+            return new ResponseEntity(e.getMessage(), HttpStatus.BAD_REQUEST);
         } catch (Exception e) {
             return new ResponseEntity("Error retrieving cohorts: " + e.getMessage(), HttpStatus.INTERNAL_SERVER_ERROR);
         }
     }
 
 
+    // Students per status and progress figures for every cohort, aggregated in the database
+    @GetMapping("/stats")
+    @PreAuthorize("hasAnyRole('ADMIN', 'FACILITATOR')")
+    public ResponseEntity<List<CohortStatsDTO>> getAllCohortStats() {
+        try {
+            return ResponseEntity.ok(cohortStatsService.getAllCohortStats());
+        } catch (Exception e) {
+            return new ResponseEntity("Error retrieving cohort statistics: " + e.getMessage(), HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+
+
+    @GetMapping("/{id}/stats")
+    @PreAuthorize("hasAnyRole('ADMIN', 'FACILITATOR')")
+    public ResponseEntity<CohortStatsDTO> getCohortStats(@PathVariable Long id) {
+        try {
+            return ResponseEntity.ok(cohortStatsService.getCohortStats(id));
+        } catch (EntityNotFoundException e) {
+            return new ResponseEntity(e.getMessage(), HttpStatus.NOT_FOUND);
+        } catch (Exception e) {
+            return new ResponseEntity("Error retrieving cohort statistics: " + e.getMessage(), HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+
+
+    // The cohort's students, keyset-paginated like /api/students; sort by fullNames or progress
+    @GetMapping("/{id}/students")
+    @PreAuthorize("hasAnyRole('ADMIN', 'FACILITATOR')")
+    public ResponseEntity<CursorPageResponseDTO<CohortRosterEntryDTO>> getCohortRoster(
+            @PathVariable Long id,
+            @RequestParam(required = false) StudentStatus status,
+            @RequestParam(defaultValue = "fullNames") String sort,
+            @RequestParam(defaultValue = "asc") String direction,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        try {
+            return ResponseEntity.ok(studentService.getCohortRoster(id, status, StudentSort.fromParam(sort),
+                    Sort.Direction.fromString(direction), cursor, size));
+        } catch (IllegalArgumentException e) {
+            return new ResponseEntity(e.getMessage(), HttpStatus.BAD_REQUEST);
+        } catch (EntityNotFoundException e) {
+            return new ResponseEntity(e.getMessage(), HttpStatus.NOT_FOUND);
+        } catch (Exception e) {
+            return new ResponseEntity("Error retrieving cohort students: " + e.getMessage(), HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+
+
     @PutMapping("/{id}")
     @PreAuthorize("hasRole('ADMIN')")
     public ResponseEntity<CohortResponseDTO> updateCohort(
@@ -89,9 +178,11 @@ public class CohortController {
 
     @DeleteMapping("/{id}")
     @PreAuthorize("hasRole('ADMIN')")
-    public ResponseEntity<Void> deleteCohort(@PathVariable Long id) {
+    public ResponseEntity<Void> deleteCohort(
+            @PathVariable Long id,
+            @AuthenticationPrincipal User authenticatedUser) {
         try {
-            cohortService.deleteCohort(id);
+            cohortService.deleteCohort(id, authenticatedUser.getId());
             return new ResponseEntity<>(HttpStatus.NO_CONTENT);
         } catch (EntityNotFoundException e) {
             return new ResponseEntity(e.getMessage(), HttpStatus.NOT_FOUND);
@@ -99,4 +190,13 @@ public class CohortController {
             return new ResponseEntity("Error deleting cohort: " + e.getMessage(), HttpStatus.INTERNAL_SERVER_ERROR);
         }
     }
+
+
+    // null (the full representation) unless the request asks for a sparse fieldset
+    private static FieldSelection fieldSelection(String fields, String expand) {
+        if (fields == null && expand == null) {
+            return null;
+        }
+        return FieldSelection.parse(fields, expand, CohortService.FIELDS, CohortService.EXPANSIONS);
+    }
 }
\ No newline at end of file
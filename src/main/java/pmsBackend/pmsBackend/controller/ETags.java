@@ -0,0 +1,30 @@
+package pmsBackend.pmsBackend.controller;
+
+import org.springframework.http.CacheControl;
+import org.springframework.util.DigestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.StringJoiner;
+
+// Strong ETags for GET responses, computed from the cheap version queries and the request
+// parameters instead of the serialized body.
+//
+// The version is read before the body is built, so a concurrent write can only make the ETag
+// older than the body; the next poll then refetches, it never keeps stale data.
+final class ETags {
+
+    // Clients may store the response but must revalidate it with If-None-Match every time.
+    // Setting it also stops Spring Security from adding its default no-store header.
+    static final CacheControl REVALIDATE = CacheControl.noCache().cachePrivate();
+
+    private ETags() {
+    }
+
+    static String of(Object... parts) {
+        StringJoiner joiner = new StringJoiner("|");
+        for (Object part : parts) {
+            joiner.add(String.valueOf(part));
+        }
+        return "\"" + DigestUtils.md5DigestAsHex(joiner.toString().getBytes(StandardCharsets.UTF_8)) + "\"";
+    }
+}
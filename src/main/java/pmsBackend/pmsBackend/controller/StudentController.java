@@ -2,27 +2,49 @@ package pmsBackend.pmsBackend.controller;
 
 import jakarta.persistence.EntityNotFoundException;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal; // To get the authenticated user object
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import pmsBackend.pmsBackend.dto.CursorPageResponseDTO;
+import pmsBackend.pmsBackend.dto.FieldSelection;
+import pmsBackend.pmsBackend.dto.StudentBulkUpdateRequestDTO;
+import pmsBackend.pmsBackend.dto.StudentBulkUpdateResultDTO;
+import pmsBackend.pmsBackend.dto.StudentImportResultDTO;
 import pmsBackend.pmsBackend.dto.StudentRequestDTO;
 import pmsBackend.pmsBackend.dto.StudentResponseDTO;
+import pmsBackend.pmsBackend.dto.StudentSort;
+import pmsBackend.pmsBackend.entity.StudentStatus;
 import pmsBackend.pmsBackend.entity.User; // Import your User entity to cast AuthenticationPrincipal
+import pmsBackend.pmsBackend.service.StudentExportService;
+import pmsBackend.pmsBackend.service.StudentImportService;
 import pmsBackend.pmsBackend.service.StudentService;
 
-import java.util.List;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.zip.GZIPOutputStream;
 
 @RestController
 @RequestMapping("/api/students")
 public class StudentController {
 
     private final StudentService studentService;
+    private final StudentImportService studentImportService;
+    private final StudentExportService studentExportService;
 
     @Autowired
-    public StudentController(StudentService studentService) {
+    public StudentController(StudentService studentService, StudentImportService studentImportService,
+                             StudentExportService studentExportService) {
         this.studentService = studentService;
+        this.studentImportService = studentImportService;
+        this.studentExportService = studentExportService;
     }
 
 
@@ -44,12 +66,92 @@ public class StudentController {
     }
 
 
+    // Bulk import: streams a CSV (with header row) or NDJSON body and returns a per-row error report
+    @PostMapping(value = "/import", consumes = {"text/csv", "application/x-ndjson"})
+    @PreAuthorize("hasAnyRole('ADMIN', 'FACILITATOR')")
+    public ResponseEntity<StudentImportResultDTO> importStudents(
+            InputStream body,
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+            @AuthenticationPrincipal User authenticatedUser) {
+        try {
+            StudentImportService.Format format = MediaType.parseMediaType(contentType).isCompatibleWith(MediaType.valueOf("text/csv"))
+                    ? StudentImportService.Format.CSV
+                    : StudentImportService.Format.NDJSON;
+            StudentImportResultDTO result = studentImportService.importStudents(body, format, authenticatedUser.getId());
+            return ResponseEntity.ok(result);
+        } catch (EntityNotFoundException e) {
+            return new ResponseEntity(e.getMessage(), HttpStatus.NOT_FOUND);
+        } catch (IllegalArgumentException e) {
+            return new ResponseEntity(e.getMessage(), HttpStatus.BAD_REQUEST);
+        } catch (Exception e) {
+            return new ResponseEntity("Error importing students: " + e.getMessage(), HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+
+
+    // Bulk export: streams every matching student as NDJSON (default) or CSV, gzipped when the client accepts it
+    @GetMapping("/export")
+    @PreAuthorize("hasAnyRole('ADMIN', 'FACILITATOR')")
+    public ResponseEntity<StreamingResponseBody> exportStudents(
+            @RequestParam(defaultValue = "ndjson") String format,
+            @RequestParam(required = false) StudentStatus status,
+            @RequestParam(required = false) Long cohortId,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        StudentExportService.Format exportFormat;
+        try {
+            exportFormat = StudentExportService.Format.valueOf(format.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            // The body has to be a StreamingResponseBody here too
+            byte[] message = ("Unsupported export format: " + format).getBytes(StandardCharsets.UTF_8);
+            return ResponseEntity.badRequest().contentType(MediaType.TEXT_PLAIN).body(output -> output.write(message));
+        }
+        boolean gzip = acceptEncoding != null && acceptEncoding.toLowerCase(Locale.ROOT).contains("gzip");
+
+        // Written after the handler returns, on the async dispatch; nothing is buffered server side
+        StreamingResponseBody body = output -> {
+            if (gzip) {
+                GZIPOutputStream compressed = new GZIPOutputStream(output, 8192);
+                studentExportService.exportStudents(compressed, exportFormat, status, cohortId);
+                compressed.finish();
+            } else {
+                studentExportService.exportStudents(output, exportFormat, status, cohortId);
+            }
+        };
+
+        String extension = exportFormat == StudentExportService.Format.CSV ? "csv" : "ndjson";
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(exportFormat == StudentExportService.Format.CSV
+                        ? MediaType.valueOf("text/csv")
+                        : MediaType.valueOf("application/x-ndjson"))
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"students." + extension + "\"")
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) {
+            response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        return response.body(body);
+    }
+
+
     @GetMapping("/{id}")
     @PreAuthorize("hasAnyRole('ADMIN', 'FACILITATOR', 'STUDENT')")
-    public ResponseEntity<StudentResponseDTO> getStudentById(@PathVariable Long id) {
+    public ResponseEntity<Object> getStudentById(
+            @PathVariable Long id,
+            @RequestParam(required = false) String fields,
+            @RequestParam(required = false) String expand,
+            WebRequest webRequest) {
         try {
-            StudentResponseDTO student = studentService.getStudentById(id);
-            return ResponseEntity.ok(student);
+            FieldSelection selection = fieldSelection(fields, expand);
+            // Revalidation costs one aggregate query and no body
+            String eTag = ETags.of("student", id, selection, studentService.getStudentVersion(id, selection));
+            if (webRequest.checkNotModified(eTag)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).cacheControl(ETags.REVALIDATE).build(); // ETag header already set
+            }
+            Object student = selection == null
+                    ? studentService.getStudentById(id)
+                    : studentService.getStudentFieldsById(id, selection);
+            return ResponseEntity.ok().eTag(eTag).cacheControl(ETags.REVALIDATE).body(student);
+        } catch (IllegalArgumentException e) {
+            return new ResponseEntity(e.getMessage(), HttpStatus.BAD_REQUEST);
         } catch (EntityNotFoundException e) {
             return new ResponseEntity(e.getMessage(), HttpStatus.NOT_FOUND);
         } catch (Exception e) {
@@ -58,12 +160,36 @@ public class StudentController {
     }
 
 
+    // Keyset-paginated listing; page size is capped by pagination.max-size.
+    // ?fields=id,fullNames,status&expand=cohort returns only those values, read with a matching SQL projection.
     @GetMapping
     @PreAuthorize("hasAnyRole('ADMIN', 'FACILITATOR')")
-    public ResponseEntity<List<StudentResponseDTO>> getAllStudents() {
+    public ResponseEntity<CursorPageResponseDTO<?>> getStudents(
+            @RequestParam(required = false) StudentStatus status,
+            @RequestParam(required = false) Long cohortId,
+            @RequestParam(defaultValue = "createdAt") String sort,
+            @RequestParam(defaultValue = "asc") String direction,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size,
+            @RequestParam(required = false) String fields,
+            @RequestParam(required = false) String expand,
+            WebRequest webRequest) {
         try {
-            List<StudentResponseDTO> students = studentService.getAllStudents();
-            return ResponseEntity.ok(students);
+            FieldSelection selection = fieldSelection(fields, expand);
+            // The page's ETag covers the whole filtered set plus the paging parameters
+            String eTag = ETags.of("students", status, cohortId, sort, direction, cursor, size, selection,
+                    studentService.getStudentsVersion(status, cohortId, selection));
+            if (webRequest.checkNotModified(eTag)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).cacheControl(ETags.REVALIDATE).build(); // ETag header already set
+            }
+            StudentSort studentSort = StudentSort.fromParam(sort);
+            Sort.Direction sortDirection = Sort.Direction.fromString(direction);
+            CursorPageResponseDTO<?> page = selection == null
+                    ? studentService.getStudentsPage(status, cohortId, studentSort, sortDirection, cursor, size)
+                    : studentService.getStudentFieldsPage(status, cohortId, studentSort, sortDirection, cursor, size, selection);
+            return ResponseEntity.ok().eTag(eTag).cacheControl(ETags.REVALIDATE).body(page);
+        } catch (IllegalArgumentException e) {
+            return new ResponseEntity(e.getMessage(), HttpStatus.BAD_REQUEST);
         } catch (Exception e) {
             return new ResponseEntity("Error retrieving students: " + e.getMessage(), HttpStatus.INTERNAL_SERVER_ERROR);
         }
@@ -89,11 +215,32 @@ public class StudentController {
     }
 
 
+    // Set-based update of many students at once (e.g. end-of-term graduation or cohort moves)
+    @PatchMapping("/bulk")
+    @PreAuthorize("hasAnyRole('ADMIN', 'FACILITATOR')")
+    public ResponseEntity<StudentBulkUpdateResultDTO> bulkUpdateStudents(
+            @RequestBody StudentBulkUpdateRequestDTO request,
+            @AuthenticationPrincipal User authenticatedUser) {
+        try {
+            StudentBulkUpdateResultDTO result = studentService.bulkUpdateStudents(request, authenticatedUser.getId());
+            return ResponseEntity.ok(result);
+        } catch (EntityNotFoundException e) {
+            return new ResponseEntity(e.getMessage(), HttpStatus.NOT_FOUND);
+        } catch (IllegalArgumentException e) {
+            return new ResponseEntity(e.getMessage(), HttpStatus.BAD_REQUEST);
+        } catch (Exception e) {
+            return new ResponseEntity("Error updating students: " + e.getMessage(), HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+
+
     @DeleteMapping("/{id}")
     @PreAuthorize("hasRole('ADMIN')")
-    public ResponseEntity<Void> deleteStudent(@PathVariable Long id) {
+    public ResponseEntity<Void> deleteStudent(
+            @PathVariable Long id,
+            @AuthenticationPrincipal User authenticatedUser) {
         try {
-            studentService.deleteStudent(id);
+            studentService.deleteStudent(id, authenticatedUser.getId());
             return new ResponseEntity<>(HttpStatus.NO_CONTENT);
         } catch (EntityNotFoundException e) {
             return new ResponseEntity(e.getMessage(), HttpStatus.NOT_FOUND);
@@ -101,4 +248,13 @@ public class StudentController {
             return new ResponseEntity("Error deleting student: " + e.getMessage(), HttpStatus.INTERNAL_SERVER_ERROR);
         }
     }
+
+
+    // null (the full representation) unless the request asks for a sparse fieldset
+    private static FieldSelection fieldSelection(String fields, String expand) {
+        if (fields == null && expand == null) {
+            return null;
+        }
+        return FieldSelection.parse(fields, expand, StudentService.FIELDS, StudentService.EXPANSIONS);
+    }
 }
\ No newline at end of file
@@ -0,0 +1,26 @@
+package pmsBackend.pmsBackend.dto;
+
+import com.fasterxml.jackson.annotation.JsonRawValue;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import pmsBackend.pmsBackend.entity.AuditAction;
+import pmsBackend.pmsBackend.entity.AuditEntityType;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class AuditLogResponseDTO {
+    private Long id;
+    private AuditEntityType entityType;
+    private Long entityId;      // null for bulk updates and imports
+    private AuditAction action;
+    private Long actorUserId;   // user who made the change
+    @JsonRawValue
+    private String changes;     // stored JSON, passed through as-is: {"field": {"from": ..., "to": ...}}
+    private LocalDateTime occurredAt;
+}
@@ -0,0 +1,20 @@
+package pmsBackend.pmsBackend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import pmsBackend.pmsBackend.entity.StudentStatus;
+
+// One student on a cohort roster (GET /api/cohorts/{id}/students). Only the columns the roster
+// indexes carry, so a page is read from the index alone.
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CohortRosterEntryDTO {
+    private Long id;
+    private String fullNames;
+    private int progress;
+    private StudentStatus status;
+}
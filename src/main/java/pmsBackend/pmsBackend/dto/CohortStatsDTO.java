@@ -0,0 +1,23 @@
+package pmsBackend.pmsBackend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import pmsBackend.pmsBackend.entity.StudentStatus;
+
+import java.util.Map;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CohortStatsDTO {
+    private Long cohortId;
+    private String cohortName;
+    private long totalStudents;
+    private Map<StudentStatus, Long> studentsByStatus; // Every status present, 0 when none
+    private Double averageProgress; // null when the cohort has no students
+    private Integer minProgress;
+    private Integer maxProgress;
+}
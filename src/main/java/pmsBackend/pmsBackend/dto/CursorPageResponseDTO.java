@@ -0,0 +1,19 @@
+package pmsBackend.pmsBackend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CursorPageResponseDTO<T> {
+    private List<T> items;
+    private int size;          // Number of items in this page
+    private boolean hasMore;   // True when another page follows
+    private String nextCursor; // Pass back as ?cursor= to fetch the next page; null on the last page
+}
@@ -0,0 +1,62 @@
+package pmsBackend.pmsBackend.dto;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.Supplier;
+
+// Sparse fieldset of a read request: ?fields=id,fullNames,status&expand=cohort.
+// fields lists top-level values (all of them when omitted), expand the nested objects to embed
+// (none when omitted). The id is always included. Unknown names are rejected, so a typo is a 400
+// rather than a silently smaller response.
+public record FieldSelection(Set<String> fields, Set<String> expand) {
+
+    public static FieldSelection parse(String fields, String expand,
+                                       Collection<String> allowedFields, Collection<String> allowedExpansions) {
+        Set<String> selected = fields == null ? new LinkedHashSet<>(allowedFields) : split(fields, allowedFields, "field");
+        selected.add("id");
+        Set<String> expanded = expand == null ? new LinkedHashSet<>() : split(expand, allowedExpansions, "expansion");
+        // Sorted, so equal selections print the same way (they are part of the ETags)
+        return new FieldSelection(Collections.unmodifiableSet(new TreeSet<>(selected)),
+                Collections.unmodifiableSet(new TreeSet<>(expanded)));
+    }
+
+    public boolean includes(String field) {
+        return fields.contains(field);
+    }
+
+    public boolean expands(String name) {
+        return expand.contains(name);
+    }
+
+    // Adds the value only if the field was selected; the supplier is not called otherwise
+    public void put(Map<String, Object> target, String field, Supplier<?> value) {
+        if (includes(field)) {
+            target.put(field, value.get());
+        }
+    }
+
+    public void putExpanded(Map<String, Object> target, String name, Supplier<?> value) {
+        if (expands(name)) {
+            target.put(name, value.get());
+        }
+    }
+
+    private static Set<String> split(String names, Collection<String> allowed, String kind) {
+        Set<String> result = new LinkedHashSet<>();
+        Arrays.stream(names.split(","))
+                .map(String::trim)
+                .filter(name -> !name.isEmpty())
+                .forEach(name -> {
+                    if (!allowed.contains(name)) {
+                        throw new IllegalArgumentException("Unsupported " + kind + ": " + name);
+                    }
+                    result.add(name);
+                });
+        return result;
+    }
+}
@@ -0,0 +1,39 @@
+package pmsBackend.pmsBackend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import pmsBackend.pmsBackend.entity.StudentStatus;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class StudentBulkUpdateRequestDTO {
+    private Selection selection; // Which students to update
+    private Patch patch;         // What to change on all of them
+
+    // Ids and/or filters; every criterion given must match. At least one is required.
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Selection {
+        private List<Long> ids;
+        private Long cohortId;
+        private StudentStatus status;
+    }
+
+    // Only the non-null fields are applied
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Patch {
+        private StudentStatus status;
+        private Integer progress;      // Absolute value, 0-100
+        private Integer progressDelta; // Added to the current progress, clamped to 0-100; not with progress
+        private Long cohortId;         // Move to this cohort
+    }
+}
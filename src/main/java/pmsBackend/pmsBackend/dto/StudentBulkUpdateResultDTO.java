@@ -0,0 +1,15 @@
+package pmsBackend.pmsBackend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class StudentBulkUpdateResultDTO {
+    private Integer requested; // Number of ids sent; null for a filter-only selection
+    private int updated;       // Rows actually changed
+}
@@ -0,0 +1,72 @@
+package pmsBackend.pmsBackend.dto;
+
+import jakarta.persistence.Tuple;
+import org.springframework.data.domain.Sort;
+import pmsBackend.pmsBackend.entity.Student;
+import pmsBackend.pmsBackend.entity.StudentStatus;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.Objects;
+
+// Opaque keyset cursor: the sort key, direction, filters and (value, id) of the last row of the previous
+// page. Clients only ever see the Base64 form and hand it back unchanged.
+public record StudentCursor(StudentSort sort, Sort.Direction direction, StudentStatus status, Long cohortId,
+                            String value, Long id) {
+
+    private static final String SEPARATOR = "|";
+
+    public static StudentCursor of(StudentSort sort, Sort.Direction direction, StudentStatus status, Long cohortId,
+                                   Student last) {
+        return new StudentCursor(sort, direction, status, cohortId, sort.valueOf(last), last.getId());
+    }
+
+    // For projected rows, which carry the sort key under its attribute name
+    public static StudentCursor of(StudentSort sort, Sort.Direction direction, StudentStatus status, Long cohortId,
+                                   Tuple last) {
+        return new StudentCursor(sort, direction, status, cohortId, last.get(sort.getAttribute()).toString(),
+                last.get("id", Long.class));
+    }
+
+    // A cursor only makes sense against the filters it was issued for; under other filters its
+    // position would skip or repeat rows
+    public void requireFilters(StudentStatus status, Long cohortId) {
+        if (this.status != status || !Objects.equals(this.cohortId, cohortId)) {
+            throw new IllegalArgumentException("Cursor does not match the status and cohortId filters");
+        }
+    }
+
+    public String encode() {
+        // The value goes last, so it may itself contain the separator
+        String raw = sort.name() + SEPARATOR + direction.name()
+                + SEPARATOR + (status == null ? "" : status.name())
+                + SEPARATOR + (cohortId == null ? "" : cohortId)
+                + SEPARATOR + id + SEPARATOR + value;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static StudentCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\" + SEPARATOR, 6);
+            if (parts.length != 6) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+            StudentSort sort = StudentSort.valueOf(parts[0]);
+            // Fail fast on a tampered value
+            if (sort == StudentSort.CREATED_AT) {
+                LocalDateTime.parse(parts[5]);
+            } else if (sort == StudentSort.PROGRESS) {
+                Integer.parseInt(parts[5]);
+            }
+            StudentStatus status = parts[2].isEmpty() ? null : StudentStatus.valueOf(parts[2]);
+            Long cohortId = parts[3].isEmpty() ? null : Long.valueOf(parts[3]);
+            return new StudentCursor(sort, Sort.Direction.valueOf(parts[1]), status, cohortId, parts[5],
+                    Long.parseLong(parts[4]));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid cursor", e);
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package pmsBackend.pmsBackend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class StudentImportResultDTO {
+    private int totalRows;
+    private int imported;
+    private int failed;
+    @Builder.Default
+    private List<RowError> errors = new ArrayList<>(); // Capped; see errorsTruncated
+    private boolean errorsTruncated;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class RowError {
+        private long line; // 1-based line number in the upload
+        private String message;
+    }
+}
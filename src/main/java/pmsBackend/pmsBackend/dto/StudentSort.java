@@ -0,0 +1,40 @@
+package pmsBackend.pmsBackend.dto;
+
+import pmsBackend.pmsBackend.entity.Student;
+
+import java.util.Arrays;
+
+// Sort keys supported by the keyset-paginated student listing.
+// Every key is paired with the student id as a tie-breaker, so (key, id) is always unique.
+public enum StudentSort {
+    CREATED_AT("createdAt"),
+    FULL_NAMES("fullNames"),
+    PROGRESS("progress");
+
+    private final String attribute;
+
+    StudentSort(String attribute) {
+        this.attribute = attribute;
+    }
+
+    public String getAttribute() {
+        return attribute;
+    }
+
+    // Returns the cursor value of this sort key for the given student
+    public String valueOf(Student student) {
+        return switch (this) {
+            case CREATED_AT -> student.getCreatedAt().toString();
+            case FULL_NAMES -> student.getFullNames();
+            case PROGRESS -> String.valueOf(student.getProgress());
+        };
+    }
+
+    // Accepts either the entity attribute name ("createdAt") or the enum name ("CREATED_AT")
+    public static StudentSort fromParam(String value) {
+        return Arrays.stream(values())
+                .filter(sort -> sort.attribute.equalsIgnoreCase(value) || sort.name().equalsIgnoreCase(value))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Unsupported sort field: " + value));
+    }
+}
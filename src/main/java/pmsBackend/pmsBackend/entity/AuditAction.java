@@ -0,0 +1,9 @@
+package pmsBackend.pmsBackend.entity;
+
+public enum AuditAction {
+    CREATE,
+    UPDATE,
+    DELETE,
+    BULK_UPDATE, // set-based update; no per-row history
+    IMPORT       // bulk student import; one summary entry per upload
+}
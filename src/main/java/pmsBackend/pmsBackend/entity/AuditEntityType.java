@@ -0,0 +1,6 @@
+package pmsBackend.pmsBackend.entity;
+
+public enum AuditEntityType {
+    STUDENT,
+    COHORT
+}
@@ -0,0 +1,41 @@
+package pmsBackend.pmsBackend.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+// Append-only audit trail. Rows are inserted in JDBC batches by AuditLogWriter (never through JPA)
+// and only read back by AuditService; the entity exists for the query side. Users and entities are
+// plain ids, not foreign keys, so history outlives deleted rows. Table and indexes: db/migration.
+@Entity
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Table(name = "audit_log")
+public class AuditLog {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private AuditEntityType entityType;
+
+    private Long entityId; // null for bulk updates and imports
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private AuditAction action;
+
+    private Long actorUserId;
+
+    // JSON: {"field": {"from": old, "to": new}, ...} for single-row changes, a summary otherwise
+    @Column(columnDefinition = "text")
+    private String changes;
+
+    @Column(nullable = false)
+    private LocalDateTime occurredAt;
+}
@@ -16,8 +16,10 @@ import java.time.LocalDateTime;
 @Table(name = "students")
 public class Student {
 
+    // Pooled sequence (not IDENTITY) so Hibernate can batch inserts; one round trip hands out 50 ids
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "students_seq")
+    @SequenceGenerator(name = "students_seq", sequenceName = "students_id_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false)
@@ -0,0 +1,10 @@
+package pmsBackend.pmsBackend.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+import pmsBackend.pmsBackend.entity.AuditLog;
+
+// Read side only; rows are inserted by AuditLogWriter
+@Repository
+public interface AuditLogRepository extends JpaRepository<AuditLog, Long>, AuditLogRepositoryCustom {
+}
@@ -0,0 +1,13 @@
+package pmsBackend.pmsBackend.repository;
+
+import pmsBackend.pmsBackend.entity.AuditEntityType;
+import pmsBackend.pmsBackend.entity.AuditLog;
+
+import java.util.List;
+
+public interface AuditLogRepositoryCustom {
+
+    // Newest first, keyset on id: entries with id < beforeId (null for the first page).
+    // Filters are optional (null = no filter).
+    List<AuditLog> findPage(AuditEntityType entityType, Long entityId, Long actorUserId, Long beforeId, int limit);
+}
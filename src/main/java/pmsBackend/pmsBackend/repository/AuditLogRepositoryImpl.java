@@ -0,0 +1,51 @@
+package pmsBackend.pmsBackend.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.hibernate.jpa.HibernateHints;
+import pmsBackend.pmsBackend.entity.AuditEntityType;
+import pmsBackend.pmsBackend.entity.AuditLog;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Spring Data picks this up as the implementation of AuditLogRepositoryCustom
+public class AuditLogRepositoryImpl implements AuditLogRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<AuditLog> findPage(AuditEntityType entityType, Long entityId, Long actorUserId, Long beforeId, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<AuditLog> query = cb.createQuery(AuditLog.class);
+        Root<AuditLog> audit = query.from(AuditLog.class);
+
+        List<Predicate> predicates = new ArrayList<>();
+        if (entityType != null) {
+            predicates.add(cb.equal(audit.get("entityType"), entityType));
+        }
+        if (entityId != null) {
+            predicates.add(cb.equal(audit.get("entityId"), entityId));
+        }
+        if (actorUserId != null) {
+            predicates.add(cb.equal(audit.get("actorUserId"), actorUserId));
+        }
+        if (beforeId != null) {
+            predicates.add(cb.lessThan(audit.get("id"), beforeId));
+        }
+
+        query.select(audit)
+                .where(predicates.toArray(new Predicate[0]))
+                .orderBy(cb.desc(audit.get("id")));
+
+        return entityManager.createQuery(query)
+                .setHint(HibernateHints.HINT_READ_ONLY, true) // append-only rows, never modified here
+                .setMaxResults(limit)
+                .getResultList();
+    }
+}
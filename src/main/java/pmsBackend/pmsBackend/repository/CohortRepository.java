@@ -1,12 +1,27 @@
 package pmsBackend.pmsBackend.repository;
 
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 import pmsBackend.pmsBackend.entity.Cohort; // Import your Cohort entity
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface CohortRepository extends JpaRepository<Cohort, Long> {
+public interface CohortRepository extends JpaRepository<Cohort, Long>, CohortRepositoryCustom {
     Optional<Cohort> findByCohortName(String cohortName);
+
+    // Facilitator and creator are fetched in the same statement as the cohorts
+    @EntityGraph(attributePaths = {"facilitator", "createdBy"})
+    @Query("select c from Cohort c")
+    List<Cohort> findAllWithUsers();
+
+    @EntityGraph(attributePaths = {"facilitator", "createdBy"})
+    Optional<Cohort> findWithUsersById(Long id);
+
+    @EntityGraph(attributePaths = {"facilitator", "createdBy"})
+    List<Cohort> findAllWithUsersByIdIn(Collection<Long> ids);
 }
\ No newline at end of file
@@ -0,0 +1,8 @@
+package pmsBackend.pmsBackend.repository;
+
+public interface CohortRepositoryCustom {
+
+    // Cheap validator (one aggregate statement) covering every cohort and the facilitator and
+    // creator its DTO embeds
+    DataVersion findVersion();
+}
@@ -0,0 +1,36 @@
+package pmsBackend.pmsBackend.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Root;
+import pmsBackend.pmsBackend.entity.Cohort;
+import pmsBackend.pmsBackend.entity.User;
+
+import java.time.LocalDateTime;
+
+// Spring Data picks this up as the implementation of CohortRepositoryCustom
+public class CohortRepositoryImpl implements CohortRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public DataVersion findVersion() {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Object[]> query = cb.createQuery(Object[].class);
+        Root<Cohort> cohort = query.from(Cohort.class);
+        Join<Cohort, User> facilitator = cohort.join("facilitator", JoinType.LEFT);
+        Join<Cohort, User> creator = cohort.join("createdBy", JoinType.LEFT);
+
+        query.multiselect(
+                cb.count(cohort),
+                cb.greatest(cohort.<LocalDateTime>get("updatedAt")),
+                cb.greatest(facilitator.<LocalDateTime>get("updatedAt")),
+                cb.greatest(creator.<LocalDateTime>get("updatedAt")));
+        return DataVersion.of(entityManager.createQuery(query).getSingleResult());
+    }
+}
@@ -0,0 +1,21 @@
+package pmsBackend.pmsBackend.repository;
+
+import java.time.LocalDateTime;
+
+// Row count and latest modification time of a set of rows (and the rows their DTOs embed).
+// Any insert, update or delete in the set changes at least one of the two, which makes it a
+// cheap validator for ETags. lastModified is null for an empty set.
+public record DataVersion(long count, LocalDateTime lastModified) {
+
+    // One aggregate row: count followed by any number of max(timestamp) columns
+    static DataVersion of(Object[] row) {
+        LocalDateTime latest = null;
+        for (int i = 1; i < row.length; i++) {
+            LocalDateTime timestamp = (LocalDateTime) row[i];
+            if (timestamp != null && (latest == null || timestamp.isAfter(latest))) {
+                latest = timestamp;
+            }
+        }
+        return new DataVersion(((Number) row[0]).longValue(), latest);
+    }
+}
@@ -1,14 +1,36 @@
 package pmsBackend.pmsBackend.repository;
 
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 import pmsBackend.pmsBackend.entity.Student; // Import your Student entity
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface StudentRepository extends JpaRepository<Student, Long> {
+public interface StudentRepository extends JpaRepository<Student, Long>, StudentRepositoryCustom {
     Optional<Student> findByEmailAddress(String emailAddress);
     List<Student> findByFullNames(String fullNames);
+
+    // Loads the student with its creator; convertToStudentResponseDTO takes the cohort from the cohort cache
+    @EntityGraph(attributePaths = {"createdBy"})
+    Optional<Student> findWithAssociationsById(Long id);
+
+    // Which of these email addresses are already taken (one query per import chunk)
+    @Query("select s.emailAddress from Student s where s.emailAddress in :emailAddresses")
+    List<String> findExistingEmailAddresses(Collection<String> emailAddresses);
+
+    // Cohort statistics, aggregated in the database: one row per (cohort, status) that has students
+    @Query("select new pmsBackend.pmsBackend.repository.StudentStatusAggregate("
+            + "s.cohort.id, s.status, count(s), sum(s.progress), min(s.progress), max(s.progress)) "
+            + "from Student s group by s.cohort.id, s.status")
+    List<StudentStatusAggregate> aggregateByCohortAndStatus();
+
+    @Query("select new pmsBackend.pmsBackend.repository.StudentStatusAggregate("
+            + "s.cohort.id, s.status, count(s), sum(s.progress), min(s.progress), max(s.progress)) "
+            + "from Student s where s.cohort.id = :cohortId group by s.cohort.id, s.status")
+    List<StudentStatusAggregate> aggregateByStatusForCohort(Long cohortId);
 }
\ No newline at end of file
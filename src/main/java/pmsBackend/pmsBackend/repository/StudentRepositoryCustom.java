@@ -0,0 +1,46 @@
+package pmsBackend.pmsBackend.repository;
+
+import jakarta.persistence.Tuple;
+import org.springframework.data.domain.Sort;
+import pmsBackend.pmsBackend.dto.FieldSelection;
+import pmsBackend.pmsBackend.dto.StudentBulkUpdateRequestDTO;
+import pmsBackend.pmsBackend.dto.StudentCursor;
+import pmsBackend.pmsBackend.dto.StudentSort;
+import pmsBackend.pmsBackend.entity.Student;
+import pmsBackend.pmsBackend.entity.StudentStatus;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+public interface StudentRepositoryCustom {
+
+    // Keyset page over (sort key, id). Filters are optional (null = no filter);
+    // after is null for the first page.
+    List<Student> findPage(StudentStatus status, Long cohortId, StudentSort sort, Sort.Direction direction,
+                           StudentCursor after, int limit);
+
+    // The same page, selecting only the columns of the sparse fieldset (plus id and the sort key),
+    // each aliased by its field name. The creator is joined only when createdBy is expanded
+    // (aliases createdById, createdByFullName, createdByEmail, createdByRole); an expanded cohort
+    // needs only its id, which comes from the foreign key column.
+    List<Tuple> findPageProjection(StudentStatus status, Long cohortId, StudentSort sort, Sort.Direction direction,
+                                   StudentCursor after, int limit, FieldSelection selection);
+
+    Optional<Tuple> findProjectionById(Long id, FieldSelection selection);
+
+    // Forward-only, read-only cursor over the filtered students in id order, cohort fetched.
+    // Must be consumed inside a transaction and closed by the caller.
+    Stream<Student> streamForExport(StudentStatus status, Long cohortId);
+
+    // Cheap validators (one aggregate statement) for the list and single-student responses;
+    // count is 0 when the student does not exist. withCreators also covers the embedded creators
+    // (one join to users), which only responses that include createdBy need.
+    DataVersion findVersion(StudentStatus status, Long cohortId, boolean withCreators);
+
+    DataVersion findVersionById(Long id, boolean withCreators);
+
+    // Set-based UPDATE of every student matching the ids (when given) and the filters, without loading
+    // them. Bypasses the persistence context, so it must not run alongside managed Student changes.
+    int bulkUpdate(List<Long> ids, StudentStatus status, Long cohortId, StudentBulkUpdateRequestDTO.Patch patch);
+}
@@ -0,0 +1,256 @@
+package pmsBackend.pmsBackend.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.CriteriaUpdate;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.Order;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Sort;
+import pmsBackend.pmsBackend.dto.FieldSelection;
+import pmsBackend.pmsBackend.dto.StudentBulkUpdateRequestDTO;
+import pmsBackend.pmsBackend.dto.StudentCursor;
+import pmsBackend.pmsBackend.dto.StudentSort;
+import pmsBackend.pmsBackend.entity.Cohort;
+import pmsBackend.pmsBackend.entity.Student;
+import pmsBackend.pmsBackend.entity.StudentStatus;
+import pmsBackend.pmsBackend.entity.User;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
+
+// Spring Data picks this up as the implementation of StudentRepositoryCustom
+public class StudentRepositoryImpl implements StudentRepositoryCustom {
+
+    // Rows pulled from the database per round trip while streaming
+    private static final int EXPORT_FETCH_SIZE = 500;
+
+    // Ids per bulk UPDATE statement, keeping the IN list well inside driver parameter limits
+    private static final int BULK_UPDATE_CHUNK_SIZE = 1000;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<Student> findPage(StudentStatus status, Long cohortId, StudentSort sort, Sort.Direction direction,
+                                  StudentCursor after, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Student> query = cb.createQuery(Student.class);
+        Root<Student> student = query.from(Student.class);
+
+        // Fetch the creator in the same statement (no per-row lazy loads); cohorts are resolved
+        // from the cohort cache by id, so they are not joined
+        student.fetch("createdBy");
+
+        List<Predicate> predicates = filterPredicates(cb, student, status, cohortId);
+        if (after != null) {
+            predicates.add(keysetPredicate(cb, student, sort, direction, after));
+        }
+
+        query.select(student)
+                .where(predicates.toArray(new Predicate[0]))
+                .orderBy(order(cb, student.get(sort.getAttribute()), direction), order(cb, student.get("id"), direction));
+
+        return entityManager.createQuery(query)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    @Override
+    public List<Tuple> findPageProjection(StudentStatus status, Long cohortId, StudentSort sort, Sort.Direction direction,
+                                          StudentCursor after, int limit, FieldSelection selection) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<Student> student = query.from(Student.class);
+
+        List<Predicate> predicates = filterPredicates(cb, student, status, cohortId);
+        if (after != null) {
+            predicates.add(keysetPredicate(cb, student, sort, direction, after));
+        }
+
+        query.multiselect(projection(student, selection, sort.getAttribute()))
+                .where(predicates.toArray(new Predicate[0]))
+                .orderBy(order(cb, student.get(sort.getAttribute()), direction), order(cb, student.get("id"), direction));
+
+        return entityManager.createQuery(query)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    @Override
+    public Optional<Tuple> findProjectionById(Long id, FieldSelection selection) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<Student> student = query.from(Student.class);
+        query.multiselect(projection(student, selection, null))
+                .where(cb.equal(student.get("id"), id));
+        return entityManager.createQuery(query).getResultStream().findFirst();
+    }
+
+    // One aliased column per selected field; nothing is joined unless createdBy is expanded
+    private List<Selection<?>> projection(Root<Student> student, FieldSelection selection, String sortAttribute) {
+        Set<String> columns = new LinkedHashSet<>(selection.fields());
+        columns.add("id");
+        if (sortAttribute != null) {
+            columns.add(sortAttribute); // needed for the next cursor
+        }
+        if (selection.expands("cohort")) {
+            columns.add("cohortId"); // the cohort itself comes from the cohort cache
+        }
+
+        List<Selection<?>> selections = new ArrayList<>();
+        for (String column : columns) {
+            Path<?> path = "cohortId".equals(column) ? student.get("cohort").get("id") : student.get(column);
+            selections.add(path.alias(column));
+        }
+        if (selection.expands("createdBy")) {
+            Join<Student, User> creator = student.join("createdBy");
+            selections.add(creator.get("id").alias("createdById"));
+            selections.add(creator.get("fullName").alias("createdByFullName"));
+            selections.add(creator.get("email").alias("createdByEmail"));
+            selections.add(creator.get("role").alias("createdByRole"));
+        }
+        return selections;
+    }
+
+    @Override
+    public Stream<Student> streamForExport(StudentStatus status, Long cohortId) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Student> query = cb.createQuery(Student.class);
+        Root<Student> student = query.from(Student.class);
+        student.fetch("cohort");
+
+        query.select(student)
+                .where(filterPredicates(cb, student, status, cohortId).toArray(new Predicate[0]))
+                .orderBy(cb.asc(student.get("id")));
+
+        return entityManager.createQuery(query)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, EXPORT_FETCH_SIZE)
+                .setHint(HibernateHints.HINT_READ_ONLY, true) // no dirty-checking snapshots
+                .getResultStream();
+    }
+
+    @Override
+    public DataVersion findVersion(StudentStatus status, Long cohortId, boolean withCreators) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Object[]> query = cb.createQuery(Object[].class);
+        Root<Student> student = query.from(Student.class);
+        return version(cb, query, student, filterPredicates(cb, student, status, cohortId), withCreators);
+    }
+
+    @Override
+    public DataVersion findVersionById(Long id, boolean withCreators) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Object[]> query = cb.createQuery(Object[].class);
+        Root<Student> student = query.from(Student.class);
+        return version(cb, query, student, List.of(cb.equal(student.get("id"), id)), withCreators);
+    }
+
+    // count(*), max(lastUpdated) and, withCreators, the creators' max(updatedAt) in one aggregate statement
+    private DataVersion version(CriteriaBuilder cb, CriteriaQuery<Object[]> query, Root<Student> student,
+                                List<Predicate> predicates, boolean withCreators) {
+        List<Selection<?>> selections = new ArrayList<>();
+        selections.add(cb.count(student));
+        selections.add(cb.greatest(student.<LocalDateTime>get("lastUpdated")));
+        if (withCreators) {
+            Join<Student, User> creator = student.join("createdBy");
+            selections.add(cb.greatest(creator.<LocalDateTime>get("updatedAt")));
+        }
+        query.multiselect(selections).where(predicates.toArray(new Predicate[0]));
+        return DataVersion.of(entityManager.createQuery(query).getSingleResult());
+    }
+
+    @Override
+    public int bulkUpdate(List<Long> ids, StudentStatus status, Long cohortId, StudentBulkUpdateRequestDTO.Patch patch) {
+        if (ids == null) {
+            return executeBulkUpdate(null, status, cohortId, patch);
+        }
+        int updated = 0;
+        for (int from = 0; from < ids.size(); from += BULK_UPDATE_CHUNK_SIZE) {
+            List<Long> chunk = ids.subList(from, Math.min(from + BULK_UPDATE_CHUNK_SIZE, ids.size()));
+            updated += executeBulkUpdate(chunk, status, cohortId, patch);
+        }
+        return updated;
+    }
+
+    private int executeBulkUpdate(List<Long> ids, StudentStatus status, Long cohortId,
+                                  StudentBulkUpdateRequestDTO.Patch patch) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaUpdate<Student> update = cb.createCriteriaUpdate(Student.class);
+        Root<Student> student = update.from(Student.class);
+
+        if (patch.getStatus() != null) {
+            update.set(student.<StudentStatus>get("status"), patch.getStatus());
+        }
+        if (patch.getProgress() != null) {
+            update.set(student.<Integer>get("progress"), patch.getProgress());
+        } else if (patch.getProgressDelta() != null) {
+            // progress = least(greatest(progress + delta, 0), 100), as a portable CASE
+            Expression<Integer> shifted = cb.sum(student.<Integer>get("progress"), patch.getProgressDelta());
+            update.set(student.<Integer>get("progress"), cb.<Integer>selectCase()
+                    .when(cb.lt(shifted, 0), 0)
+                    .when(cb.gt(shifted, 100), 100)
+                    .otherwise(shifted));
+        }
+        if (patch.getCohortId() != null) {
+            update.set(student.<Cohort>get("cohort"), entityManager.getReference(Cohort.class, patch.getCohortId()));
+        }
+        // Bulk updates skip @UpdateTimestamp, and lastUpdated drives the ETags
+        update.set(student.<LocalDateTime>get("lastUpdated"), LocalDateTime.now());
+
+        List<Predicate> predicates = filterPredicates(cb, student, status, cohortId);
+        if (ids != null) {
+            predicates.add(student.get("id").in(ids));
+        }
+        update.where(predicates.toArray(new Predicate[0]));
+        return entityManager.createQuery(update).executeUpdate();
+    }
+
+    private List<Predicate> filterPredicates(CriteriaBuilder cb, Root<Student> student, StudentStatus status, Long cohortId) {
+        List<Predicate> predicates = new ArrayList<>();
+        if (status != null) {
+            predicates.add(cb.equal(student.get("status"), status));
+        }
+        if (cohortId != null) {
+            // Compares the foreign key column directly, no join to cohorts
+            predicates.add(cb.equal(student.get("cohort").get("id"), cohortId));
+        }
+        return predicates;
+    }
+
+    private Predicate keysetPredicate(CriteriaBuilder cb, Root<Student> student, StudentSort sort,
+                                      Sort.Direction direction, StudentCursor after) {
+        Path<Long> id = student.get("id");
+        return switch (sort) {
+            case CREATED_AT -> seek(cb, student.get("createdAt"), LocalDateTime.parse(after.value()), id, after.id(), direction);
+            case FULL_NAMES -> seek(cb, student.get("fullNames"), after.value(), id, after.id(), direction);
+            case PROGRESS -> seek(cb, student.get("progress"), Integer.valueOf(after.value()), id, after.id(), direction);
+        };
+    }
+
+    // (key, id) > (value, lastId) for ascending order, (key, id) < (value, lastId) for descending
+    private <Y extends Comparable<? super Y>> Predicate seek(CriteriaBuilder cb, Path<Y> key, Y value,
+                                                              Path<Long> id, Long lastId, Sort.Direction direction) {
+        if (direction.isAscending()) {
+            return cb.or(cb.greaterThan(key, value), cb.and(cb.equal(key, value), cb.greaterThan(id, lastId)));
+        }
+        return cb.or(cb.lessThan(key, value), cb.and(cb.equal(key, value), cb.lessThan(id, lastId)));
+    }
+
+    private Order order(CriteriaBuilder cb, Path<?> path, Sort.Direction direction) {
+        return direction.isAscending() ? cb.asc(path) : cb.desc(path);
+    }
+}
@@ -0,0 +1,8 @@
+package pmsBackend.pmsBackend.repository;
+
+import pmsBackend.pmsBackend.entity.StudentStatus;
+
+// One row of the per-cohort, per-status GROUP BY in StudentRepository
+public record StudentStatusAggregate(Long cohortId, StudentStatus status, Long count,
+                                     Long progressSum, Integer minProgress, Integer maxProgress) {
+}
@@ -0,0 +1,46 @@
+package pmsBackend.pmsBackend.security;
+
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.time.Duration;
+import java.util.Arrays;
+
+// Picks the BCrypt work factor for this hardware: the highest strength whose verification still
+// fits the target time. Each step up doubles the cost, so the probe stops at the first overshoot.
+public final class BCryptCalibration {
+
+    private static final String SAMPLE_PASSWORD = "calibration-sample-password";
+    private static final int SAMPLES = 3;
+
+    private BCryptCalibration() {
+    }
+
+    public static int calibrate(Duration targetVerifyTime, int minStrength, int maxStrength) {
+        // Warm up the JIT so the first measured strength isn't penalised
+        BCryptPasswordEncoder warmUp = new BCryptPasswordEncoder(minStrength);
+        warmUp.matches(SAMPLE_PASSWORD, warmUp.encode(SAMPLE_PASSWORD));
+
+        int chosen = minStrength; // never go below the configured floor, even on slow hardware
+        for (int strength = minStrength; strength <= maxStrength; strength++) {
+            if (measureVerifyNanos(strength) > targetVerifyTime.toNanos()) {
+                break;
+            }
+            chosen = strength;
+        }
+        return chosen;
+    }
+
+    // Median of a few verifications at the given strength
+    private static long measureVerifyNanos(int strength) {
+        BCryptPasswordEncoder encoder = new BCryptPasswordEncoder(strength);
+        String hash = encoder.encode(SAMPLE_PASSWORD);
+        long[] samples = new long[SAMPLES];
+        for (int i = 0; i < SAMPLES; i++) {
+            long start = System.nanoTime();
+            encoder.matches(SAMPLE_PASSWORD, hash);
+            samples[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(samples);
+        return samples[SAMPLES / 2];
+    }
+}
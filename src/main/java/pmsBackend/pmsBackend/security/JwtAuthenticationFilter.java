@@ -1,19 +1,17 @@
 package pmsBackend.pmsBackend.security;
 
-import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.JwtException;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.core.GrantedAuthority;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
-import pmsBackend.pmsBackend.repository.UserRepository;
+import pmsBackend.pmsBackend.service.UserService;
 
 import java.io.IOException;
 import java.util.Arrays;
@@ -24,9 +22,11 @@ import java.util.List;
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtService jwtService;
-    private final UserRepository userRepository;
+    private final UserService userService;
+    private final TokenRevocationService tokenRevocationService;
 
-    private static final List<String> PUBLIC_PATHS = Arrays.asList(
+    // Package-private for PublicPathMatchingBenchmark
+    static final List<String> PUBLIC_PATHS = Arrays.asList(
             "/api/auth/register",
             "/api/auth/login",
             "/v3/api-docs",
@@ -36,6 +36,16 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             "/swagger-ui/index.html"
     );
 
+    // Runs on every request: a plain indexed loop, no stream pipeline or lambda per call
+    static boolean isPublicPath(String requestURI) {
+        for (int i = 0; i < PUBLIC_PATHS.size(); i++) {
+            if (requestURI.startsWith(PUBLIC_PATHS.get(i))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     @Override
     protected void doFilterInternal(HttpServletRequest request,
                                     HttpServletResponse response,
@@ -44,7 +54,7 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
         String requestURI = request.getRequestURI();
 
-        if (PUBLIC_PATHS.stream().anyMatch(requestURI::startsWith)) {
+        if (isPublicPath(requestURI)) {
             filterChain.doFilter(request, response);
             return;
         }
@@ -59,18 +69,34 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         }
 
         jwt = authHeader.substring(7);
-        userEmail = jwtService.extractUsername(jwt);
 
-        if (userEmail != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-            var user = userRepository.findByEmail(userEmail).orElse(null);
+        // Verify and decode once; everything below works off the parsed token
+        final ParsedToken token;
+        try {
+            token = jwtService.parseToken(jwt);
+        } catch (JwtException | IllegalArgumentException e) {
+            SecurityContextHolder.clearContext(); // Malformed, tampered or expired token
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        // In-memory check, no database read
+        if (tokenRevocationService.isRevoked(token)) {
+            SecurityContextHolder.clearContext();
+            filterChain.doFilter(request, response);
+            return;
+        }
+        userEmail = token.subject();
 
-            if (user != null && jwtService.isTokenValid(jwt, user)) {
-                // ✅ Extract authorities (roles) using the JwtService
-                List<GrantedAuthority> authorities = jwtService.extractAuthorities(jwt);
+        if (userEmail != null && SecurityContextHolder.getContext().getAuthentication() == null) {
+            // Served from the principals cache; only a miss reaches the users table
+            var user = userService.findPrincipal(userEmail).orElse(null);
 
-                // ✅ Create auth token with authorities
+            if (user != null) {
+                // ✅ Create auth token with the authorities (roles) carried by the token;
+                // the parsed token rides along as credentials so /logout can revoke it
                 var authToken = new UsernamePasswordAuthenticationToken(
-                        user, null, authorities
+                        user, token, token.authorities()
                 );
 
                 authToken.setDetails(
@@ -80,7 +106,7 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
                 SecurityContextHolder.getContext().setAuthentication(authToken);
             }
             else {
-                SecurityContextHolder.clearContext(); // Clear on invalid token
+                SecurityContextHolder.clearContext(); // Clear on unknown user
             }
         }
 
@@ -1,84 +1,82 @@
 package pmsBackend.pmsBackend.security;
 
+import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
-import lombok.RequiredArgsConstructor;
+import io.jsonwebtoken.io.Decoders;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
-import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 import pmsBackend.pmsBackend.entity.User;
-import pmsBackend.pmsBackend.repository.UserRepository;
 
+import javax.crypto.spec.SecretKeySpec;
+import java.security.Key;
 import java.util.Date;
 import java.util.List;
-import java.util.stream.Collectors; // Import Collectors for older Java versions if needed
+import java.util.UUID;
+import java.util.stream.Collectors;
 
 @Service
-@RequiredArgsConstructor
 public class JwtService {
 
-    @Value("${jwt.secret}")
-    private String secret;
+    // iat is in whole seconds; revocation needs to order a token against a revocation in the same second
+    static final String ISSUED_AT_MILLIS = "iat_ms";
 
-    @Value("${jwt.expiration}")
-    private long expiration;
+    private final long expiration;
 
-    private final UserRepository userRepository;
+    // Built once at startup; both are immutable and thread-safe
+    private final Key signingKey;
+    private final JwtParser parser;
 
-    public List<GrantedAuthority> extractAuthorities(String token) {
-        var claims = Jwts.parser()
-                .setSigningKey(secret)
-                .parseClaimsJws(token)
-                .getBody();
-
-        // The "authorities" claim is typically a List of Strings in the JWT.
-        // We cast it to List<String> directly for better type safety.
-        // If it's possible for 'authorities' to be something else, you might need
-        // more robust error handling or type checking here.
-        var rawAuthorities = (List<String>) claims.get("authorities");
-
-        return rawAuthorities.stream()
-                .map(SimpleGrantedAuthority::new) // Converts String role to SimpleGrantedAuthority
-                .collect(Collectors.toList()); // Collects into a List<GrantedAuthority>
-        // Using toList() directly is fine for Java 16+ but this is more explicit.
-        // If you use toList(), ensure the return type matches the stream's element type, or cast.
+    public JwtService(@Value("${jwt.secret}") String secret,
+                      @Value("${jwt.expiration}") long expiration) {
+        this.expiration = expiration;
+        // jwt.secret is Base64, as with the previous signWith(HS256, secret) call, so existing tokens stay valid
+        this.signingKey = new SecretKeySpec(Decoders.BASE64.decode(secret), SignatureAlgorithm.HS256.getJcaName());
+        this.parser = Jwts.parserBuilder()
+                .setSigningKey(signingKey)
+                .build();
     }
 
-    public String generateToken(String email) {
-        var user = userRepository.findByEmail(email)
-                .orElseThrow(() -> new UsernameNotFoundException("User not found"));
-
+    @Timed("jwt.sign")
+    public String generateToken(User user) {
+        long now = System.currentTimeMillis();
         return Jwts.builder()
+                .setId(UUID.randomUUID().toString()) // jti, lets TokenRevocationService revoke this one token
                 .setSubject(user.getEmail())
                 .claim("authorities", List.of("ROLE_" + user.getRole().name()))
-                .setIssuedAt(new Date(System.currentTimeMillis()))
-                .setExpiration(new Date(System.currentTimeMillis() + expiration))
-                .signWith(SignatureAlgorithm.HS256, secret)
+                .claim(ISSUED_AT_MILLIS, now)
+                .setIssuedAt(new Date(now))
+                .setExpiration(new Date(now + expiration))
+                .signWith(signingKey, SignatureAlgorithm.HS256)
                 .compact();
     }
 
-    public String extractUsername(String token) {
-        return Jwts.parser()
-                .setSigningKey(secret)
-                .parseClaimsJws(token)
-                .getBody()
-                .getSubject();
-    }
+    /**
+     * Verifies the signature and expiry and decodes the claims in a single pass.
+     *
+     * @throws JwtException if the token is malformed, tampered with or expired
+     */
+    @Timed("jwt.parse")
+    public ParsedToken parseToken(String token) {
+        Claims claims = parser.parseClaimsJws(token).getBody();
 
-    public boolean validateToken(String token) {
-        try {
-            Jwts.parser().setSigningKey(secret).parseClaimsJws(token);
-            return true;
-        } catch (JwtException e) {
-            return false;
-        }
-    }
+        // The "authorities" claim is a list of role strings, e.g. ["ROLE_ADMIN"]
+        List<?> rawAuthorities = claims.get("authorities", List.class);
+        List<GrantedAuthority> authorities = rawAuthorities == null ? List.of() : rawAuthorities.stream()
+                .map(authority -> new SimpleGrantedAuthority(authority.toString()))
+                .collect(Collectors.toList());
 
-    public boolean isTokenValid(String token, User user) {
-        final String username = extractUsername(token);
-        return (username.equals(user.getEmail())) && validateToken(token);
+        // Tokens issued before iat_ms existed fall back to iat, rounded down to the second
+        Long issuedAtMillis = claims.get(ISSUED_AT_MILLIS, Long.class);
+        Date issuedAt = issuedAtMillis != null ? new Date(issuedAtMillis) : claims.getIssuedAt();
+        Date expiresAt = claims.getExpiration();
+        return new ParsedToken(claims.getId(), claims.getSubject(), authorities,
+                issuedAt == null ? null : issuedAt.toInstant(),
+                expiresAt == null ? null : expiresAt.toInstant());
     }
-}
\ No newline at end of file
+}
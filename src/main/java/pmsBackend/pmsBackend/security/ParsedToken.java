@@ -0,0 +1,15 @@
+package pmsBackend.pmsBackend.security;
+
+import org.springframework.security.core.GrantedAuthority;
+
+import java.time.Instant;
+import java.util.List;
+
+// Result of verifying and decoding a JWT once; everything the filter needs per request
+public record ParsedToken(String tokenId, String subject, List<GrantedAuthority> authorities,
+                          Instant issuedAt, Instant expiresAt) {
+
+    public ParsedToken {
+        authorities = List.copyOf(authorities);
+    }
+}
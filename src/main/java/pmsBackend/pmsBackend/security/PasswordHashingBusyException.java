@@ -0,0 +1,16 @@
+package pmsBackend.pmsBackend.security;
+
+// Thrown when the password-hashing pool is saturated; mapped to 503 + Retry-After
+public class PasswordHashingBusyException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public PasswordHashingBusyException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
@@ -0,0 +1,111 @@
+package pmsBackend.pmsBackend.security;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+// In-memory revocation list checked by JwtAuthenticationFilter on every request.
+// A Bloom filter answers the common "not revoked" case without touching the exact maps;
+// only a Bloom hit (a real revocation or a rare false positive) falls through to them.
+// Entries only need to live as long as the tokens they revoke, so they are purged once those expire.
+@Service
+public class TokenRevocationService {
+
+    private static final String TOKEN_KEY = "jti:";
+    private static final String SUBJECT_KEY = "sub:";
+
+    private final long expiration;
+    private final int expectedEntries;
+    private final double falsePositiveRate;
+
+    // jti -> expiry of the revoked token
+    private final Map<String, Instant> revokedTokens = new ConcurrentHashMap<>();
+    // subject (email) -> moment all of its tokens were revoked; tokens issued up to then are rejected
+    private final Map<String, Instant> revokedSubjects = new ConcurrentHashMap<>();
+
+    // A lock rather than a monitor: waiting on it never pins a virtual thread's carrier
+    private final ReentrantLock writeLock = new ReentrantLock();
+    private volatile BloomFilter filter;
+
+    public TokenRevocationService(@Value("${jwt.expiration}") long expiration,
+                                  @Value("${jwt.revocation.expected-entries:10000}") int expectedEntries,
+                                  @Value("${jwt.revocation.false-positive-rate:0.01}") double falsePositiveRate) {
+        this.expiration = expiration;
+        this.expectedEntries = expectedEntries;
+        this.falsePositiveRate = falsePositiveRate;
+        this.filter = new BloomFilter(expectedEntries, falsePositiveRate);
+    }
+
+    // Revokes a single token, e.g. on logout
+    public void revokeToken(ParsedToken token) {
+        if (token.tokenId() == null) {
+            return;
+        }
+        Instant expiresAt = token.expiresAt() != null ? token.expiresAt() : Instant.now().plusMillis(expiration);
+        writeLock.lock();
+        try {
+            revokedTokens.put(token.tokenId(), expiresAt);
+            filter.put(TOKEN_KEY + token.tokenId());
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    // Revokes every token issued to this subject so far (user deleted, role changed, ...).
+    // Tokens carry their issue time in milliseconds (JwtService.ISSUED_AT_MILLIS); one issued in the
+    // same millisecond is rejected as well. Older tokens only have iat, rounded down to the second,
+    // so those are never let through early.
+    public void revokeAllTokensOf(String subject) {
+        Instant revokedAt = Instant.now().truncatedTo(ChronoUnit.MILLIS);
+        writeLock.lock();
+        try {
+            revokedSubjects.merge(subject, revokedAt, (previous, latest) -> latest.isAfter(previous) ? latest : previous);
+            filter.put(SUBJECT_KEY + subject);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    public boolean isRevoked(ParsedToken token) {
+        BloomFilter current = filter;
+        if (token.tokenId() != null
+                && current.mightContain(TOKEN_KEY + token.tokenId())
+                && revokedTokens.containsKey(token.tokenId())) {
+            return true;
+        }
+        if (token.subject() != null && current.mightContain(SUBJECT_KEY + token.subject())) {
+            Instant revokedAt = revokedSubjects.get(token.subject());
+            return revokedAt != null && (token.issuedAt() == null || !token.issuedAt().isAfter(revokedAt));
+        }
+        return false;
+    }
+
+    // Drops entries whose tokens have expired anyway, then rebuilds the Bloom filter from what is left
+    @Scheduled(fixedDelayString = "${jwt.revocation.purge-interval:60000}")
+    public void purgeExpired() {
+        Instant now = Instant.now();
+        Instant subjectCutoff = now.minusMillis(expiration);
+        writeLock.lock();
+        try {
+            boolean tokensRemoved = revokedTokens.values().removeIf(expiresAt -> expiresAt.isBefore(now));
+            boolean subjectsRemoved = revokedSubjects.values().removeIf(revokedAt -> revokedAt.isBefore(subjectCutoff));
+            if (!tokensRemoved && !subjectsRemoved) {
+                return;
+            }
+
+            int entries = revokedTokens.size() + revokedSubjects.size();
+            BloomFilter rebuilt = new BloomFilter(Math.max(expectedEntries, entries * 2), falsePositiveRate);
+            revokedTokens.keySet().forEach(tokenId -> rebuilt.put(TOKEN_KEY + tokenId));
+            revokedSubjects.keySet().forEach(subject -> rebuilt.put(SUBJECT_KEY + subject));
+            filter = rebuilt;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+}
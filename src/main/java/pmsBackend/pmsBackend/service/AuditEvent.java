@@ -0,0 +1,41 @@
+package pmsBackend.pmsBackend.service;
+
+import pmsBackend.pmsBackend.entity.AuditAction;
+import pmsBackend.pmsBackend.entity.AuditEntityType;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+// One change waiting to be written to audit_log. Values in changes must be immutable (strings,
+// numbers, dates, enums): the event is serialized later, on the writer thread.
+public record AuditEvent(AuditEntityType entityType, Long entityId, AuditAction action, Long actorUserId,
+                         Map<String, Object> changes, LocalDateTime occurredAt) {
+
+    public record Change(Object from, Object to) {
+    }
+
+    public static AuditEvent of(AuditEntityType entityType, Long entityId, AuditAction action, Long actorUserId,
+                                Map<String, Object> changes) {
+        return new AuditEvent(entityType, entityId, action, actorUserId, changes, LocalDateTime.now());
+    }
+
+    // Field-by-field difference between two snapshots, in snapshot order; only changed fields.
+    // An empty before (create) or after (delete) records every field.
+    public static Map<String, Object> diff(Map<String, Object> before, Map<String, Object> after) {
+        Set<String> fields = new LinkedHashSet<>(before.keySet());
+        fields.addAll(after.keySet());
+        Map<String, Object> changes = new LinkedHashMap<>();
+        for (String field : fields) {
+            Object from = before.get(field);
+            Object to = after.get(field);
+            if (!Objects.equals(from, to)) {
+                changes.put(field, new Change(from, to));
+            }
+        }
+        return changes;
+    }
+}
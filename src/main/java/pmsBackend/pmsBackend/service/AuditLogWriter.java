@@ -0,0 +1,200 @@
+package pmsBackend.pmsBackend.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+// Writes audit events off the request path: producers drop events into a bounded in-memory buffer
+// and a single background thread inserts whatever has accumulated as one JDBC batch.
+//
+//  - Back-pressure: when the buffer is full the producer waits up to audit.enqueue-timeout for room,
+//    then writes its event itself, so a slow database slows writers down instead of losing audit rows.
+//  - Shutdown: stop() lets the writer finish its batch, then flushes everything still buffered. The
+//    phase puts this after the web server has stopped taking requests and before the DataSource closes.
+//
+// Metrics: audit.buffer.size, audit.events.written, audit.events.inline (written by the producer
+// because the buffer was full or the writer stopped) and audit.events.failed.
+@Slf4j
+@Component
+public class AuditLogWriter implements SmartLifecycle {
+
+    private static final String INSERT_SQL = "insert into audit_log "
+            + "(entity_type, entity_id, action, actor_user_id, changes, occurred_at) values (?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate ownTransaction;
+    private final BlockingQueue<AuditEvent> buffer;
+    private final int batchSize;
+    private final Duration enqueueTimeout;
+
+    private final Counter written;
+    private final Counter inline;
+    private final Counter failed;
+
+    // Serialises the shutdown flushes. A lock rather than a monitor: request threads can get here, and
+    // holding it across the batch insert must not pin a virtual thread's carrier
+    private final ReentrantLock flushLock = new ReentrantLock();
+
+    private volatile boolean running;
+    private Thread worker;
+
+    public AuditLogWriter(JdbcTemplate jdbcTemplate, ObjectMapper objectMapper,
+                          PlatformTransactionManager transactionManager, MeterRegistry meterRegistry,
+                          @Value("${audit.buffer-capacity:10000}") int bufferCapacity,
+                          @Value("${audit.batch-size:500}") int batchSize,
+                          @Value("${audit.enqueue-timeout:1s}") Duration enqueueTimeout) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+        // Inline writes can run in an afterCommit callback, where the finished transaction's
+        // connection is still bound to the thread; a new transaction keeps the insert off it
+        this.ownTransaction = new TransactionTemplate(transactionManager);
+        this.ownTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.buffer = new ArrayBlockingQueue<>(bufferCapacity);
+        this.batchSize = batchSize;
+        this.enqueueTimeout = enqueueTimeout;
+
+        Gauge.builder("audit.buffer.size", buffer, BlockingQueue::size)
+                .description("Audit events waiting to be written")
+                .register(meterRegistry);
+        this.written = Counter.builder("audit.events.written").register(meterRegistry);
+        this.inline = Counter.builder("audit.events.inline")
+                .description("Audit events written on the producer's thread (buffer full or writer stopped)")
+                .register(meterRegistry);
+        this.failed = Counter.builder("audit.events.failed").register(meterRegistry);
+    }
+
+    public void enqueue(AuditEvent event) {
+        if (running) {
+            try {
+                if (buffer.offer(event) || buffer.offer(event, enqueueTimeout.toMillis(), TimeUnit.MILLISECONDS)) {
+                    if (!running) {
+                        flushBuffered(); // stop() may already have drained the buffer
+                    }
+                    return;
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        inline.increment();
+        write(List.of(event));
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        worker = new Thread(this::drainLoop, "audit-log-writer");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        try {
+            worker.join(TimeUnit.SECONDS.toMillis(30));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        flushBuffered();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public int getPhase() {
+        return SmartLifecycle.DEFAULT_PHASE - 4096; // web server stops at DEFAULT_PHASE - 1024/2048
+    }
+
+    private void drainLoop() {
+        List<AuditEvent> batch = new ArrayList<>(batchSize);
+        while (running) {
+            try {
+                AuditEvent first = buffer.poll(1, TimeUnit.SECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                buffer.drainTo(batch, batchSize - 1); // whatever else has queued up, up to a batch
+                write(batch);
+                batch.clear();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private void flushBuffered() {
+        flushLock.lock();
+        try {
+            List<AuditEvent> batch = new ArrayList<>(batchSize);
+            while (buffer.drainTo(batch, batchSize) > 0) {
+                write(batch);
+                batch.clear();
+            }
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    private void write(List<AuditEvent> batch) {
+        try {
+            List<String> changes = new ArrayList<>(batch.size());
+            for (AuditEvent event : batch) {
+                changes.add(event.changes() == null ? null : objectMapper.writeValueAsString(event.changes()));
+            }
+            ownTransaction.executeWithoutResult(tx -> jdbcTemplate.batchUpdate(INSERT_SQL, new BatchPreparedStatementSetter() {
+                @Override
+                public void setValues(PreparedStatement ps, int i) throws SQLException {
+                    AuditEvent event = batch.get(i);
+                    ps.setString(1, event.entityType().name());
+                    ps.setObject(2, event.entityId(), Types.BIGINT);
+                    ps.setString(3, event.action().name());
+                    ps.setObject(4, event.actorUserId(), Types.BIGINT);
+                    ps.setString(5, changes.get(i));
+                    ps.setTimestamp(6, Timestamp.valueOf(event.occurredAt()));
+                }
+
+                @Override
+                public int getBatchSize() {
+                    return batch.size();
+                }
+            }));
+            written.increment(batch.size());
+        } catch (JsonProcessingException | DataAccessException | TransactionException e) {
+            failed.increment(batch.size());
+            // Keep the events in the log so the trail can be reconstructed
+            log.error("Could not write {} audit events: {}", batch.size(), batch, e);
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package pmsBackend.pmsBackend.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import pmsBackend.pmsBackend.dto.AuditLogResponseDTO;
+import pmsBackend.pmsBackend.dto.CursorPageResponseDTO;
+import pmsBackend.pmsBackend.entity.AuditEntityType;
+import pmsBackend.pmsBackend.entity.AuditLog;
+import pmsBackend.pmsBackend.repository.AuditLogRepository;
+
+import java.util.stream.Collectors;
+
+// Audit trail for student and cohort changes. Services call record() from inside their
+// transaction; the event is handed to AuditLogWriter only once that transaction commits, so
+// rolled-back changes leave no history and the write never adds to the request's latency.
+@Service
+public class AuditService {
+
+    private final AuditLogWriter auditLogWriter;
+    private final AuditLogRepository auditLogRepository;
+    private final KeysetPager keysetPager;
+
+    @Autowired
+    public AuditService(AuditLogWriter auditLogWriter, AuditLogRepository auditLogRepository, KeysetPager keysetPager) {
+        this.auditLogWriter = auditLogWriter;
+        this.auditLogRepository = auditLogRepository;
+        this.keysetPager = keysetPager;
+    }
+
+
+    public void record(AuditEvent event) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            auditLogWriter.enqueue(event);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                auditLogWriter.enqueue(event);
+            }
+        });
+    }
+
+
+    // Newest first; the cursor is the id of the last entry on the previous page
+    @Transactional(readOnly = true)
+    public CursorPageResponseDTO<AuditLogResponseDTO> getAuditPage(AuditEntityType entityType, Long entityId,
+                                                                   Long actorUserId, String cursor, Integer size) {
+        Long beforeId = decodeCursor(cursor);
+        return keysetPager.page(size,
+                limit -> auditLogRepository.findPage(entityType, entityId, actorUserId, beforeId, limit),
+                rows -> rows.stream()
+                        .map(this::convertToAuditLogResponseDTO)
+                        .collect(Collectors.toList()),
+                last -> last.getId().toString());
+    }
+
+
+    private static Long decodeCursor(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            return Long.valueOf(cursor);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + cursor);
+        }
+    }
+
+
+    private AuditLogResponseDTO convertToAuditLogResponseDTO(AuditLog auditLog) {
+        return AuditLogResponseDTO.builder()
+                .id(auditLog.getId())
+                .entityType(auditLog.getEntityType())
+                .entityId(auditLog.getEntityId())
+                .action(auditLog.getAction())
+                .actorUserId(auditLog.getActorUserId())
+                .changes(auditLog.getChanges())
+                .occurredAt(auditLog.getOccurredAt())
+                .build();
+    }
+}
@@ -0,0 +1,30 @@
+package pmsBackend.pmsBackend.service;
+
+import pmsBackend.pmsBackend.entity.AuditAction;
+import pmsBackend.pmsBackend.entity.AuditEntityType;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+// A student or cohort change as pushed to the change feed (ChangeFeedService), published by the
+// services as an application event and delivered only once the transaction commits. Carries the same
+// change set as the audit entry, minus the actor. cohortIds are the cohorts the change touches (both
+// sides of a move); empty means it may touch any cohort, e.g. a bulk update selected by status only.
+public record ChangeEvent(AuditEntityType entityType, Long entityId, AuditAction action, Set<Long> cohortIds,
+                          Map<String, Object> changes, LocalDateTime occurredAt) {
+
+    public static ChangeEvent of(AuditEvent audit, Long... cohortIds) {
+        Set<Long> cohorts = Stream.of(cohortIds).filter(Objects::nonNull).collect(Collectors.toUnmodifiableSet());
+        return new ChangeEvent(audit.entityType(), audit.entityId(), audit.action(), cohorts,
+                audit.changes(), audit.occurredAt());
+    }
+
+    // Whether a subscriber to the given cohort (null: every cohort) should see this change
+    public boolean concerns(Long cohortId) {
+        return cohortId == null || cohortIds.isEmpty() || cohortIds.contains(cohortId);
+    }
+}
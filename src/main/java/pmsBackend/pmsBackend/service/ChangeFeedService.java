@@ -0,0 +1,196 @@
+package pmsBackend.pmsBackend.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter.DataWithMediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Server-Sent Events feed of committed student and cohort changes (GET /api/changes), so dashboards
+// stop polling the student list. Idle subscribers cost a heartbeat comment every heartbeat-interval.
+//
+//  - Fan-out never blocks the committing thread: each subscriber has a bounded buffer, and writes to
+//    the connection happen on the task executor, one drain at a time per subscriber.
+//  - A subscriber whose buffer overflows is too slow to keep up: it is dropped, its buffer discarded,
+//    and it gets a final "evicted" event, after which the client should reload and reconnect.
+//  - stop() closes every stream before the web server's graceful shutdown waits for open requests.
+//
+// Metrics: changefeed.subscribers, changefeed.events.sent, changefeed.subscribers.evicted.
+@Slf4j
+@Service
+public class ChangeFeedService implements SmartLifecycle {
+
+    private final Executor executor;
+    private final int bufferCapacity;
+    private final Duration timeout;
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final AtomicLong sequence = new AtomicLong();
+
+    private final Counter sent;
+    private final Counter evicted;
+
+    private volatile boolean running;
+
+    @Autowired
+    public ChangeFeedService(@Qualifier("applicationTaskExecutor") TaskExecutor taskExecutor, MeterRegistry meterRegistry,
+                             @Value("${changefeed.buffer-capacity:256}") int bufferCapacity,
+                             @Value("${changefeed.timeout:30m}") Duration timeout) {
+        this((Executor) taskExecutor, meterRegistry, bufferCapacity, timeout);
+    }
+
+    ChangeFeedService(Executor executor, MeterRegistry meterRegistry, int bufferCapacity, Duration timeout) {
+        this.executor = executor;
+        this.bufferCapacity = bufferCapacity;
+        this.timeout = timeout;
+
+        Gauge.builder("changefeed.subscribers", subscribers, Set::size)
+                .description("Open change feed streams")
+                .register(meterRegistry);
+        this.sent = Counter.builder("changefeed.events.sent").register(meterRegistry);
+        this.evicted = Counter.builder("changefeed.subscribers.evicted")
+                .description("Streams closed because the client could not keep up")
+                .register(meterRegistry);
+    }
+
+    // cohortId null subscribes to every cohort. Clients reconnect on their own after the timeout.
+    public SseEmitter subscribe(Long cohortId) {
+        SseEmitter emitter = new SseEmitter(timeout.toMillis());
+        Subscriber subscriber = new Subscriber(emitter, cohortId, new ArrayBlockingQueue<>(bufferCapacity));
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onTimeout(() -> subscribers.remove(subscriber));
+        emitter.onError(e -> subscribers.remove(subscriber));
+        subscribers.add(subscriber);
+        return emitter;
+    }
+
+    // Called after commit (or right away outside a transaction, e.g. the import summary)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onChange(ChangeEvent event) {
+        // Built once and shared: an SseEventBuilder must not be sent twice
+        Set<DataWithMediaType> message = SseEmitter.event()
+                .id(Long.toString(sequence.incrementAndGet()))
+                .name(event.entityType().name().toLowerCase())
+                .data(event, MediaType.APPLICATION_JSON)
+                .build();
+        for (Subscriber subscriber : subscribers) {
+            if (event.concerns(subscriber.cohortId)) {
+                offer(subscriber, message);
+            }
+        }
+    }
+
+    // Keeps idle connections open through proxies, and finds the ones the client has gone from
+    @Scheduled(fixedDelayString = "${changefeed.heartbeat-interval:15000}")
+    public void heartbeat() {
+        Set<DataWithMediaType> message = SseEmitter.event().comment("heartbeat").build();
+        for (Subscriber subscriber : subscribers) {
+            offer(subscriber, message);
+        }
+    }
+
+    public int getSubscriberCount() {
+        return subscribers.size();
+    }
+
+    @Override
+    public void start() {
+        running = true;
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        for (Subscriber subscriber : subscribers) {
+            subscribers.remove(subscriber);
+            subscriber.emitter.complete();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public int getPhase() {
+        return SmartLifecycle.DEFAULT_PHASE; // before the web server's graceful shutdown (DEFAULT_PHASE - 1024)
+    }
+
+    private void offer(Subscriber subscriber, Set<DataWithMediaType> message) {
+        if (!subscriber.buffer.offer(message)) {
+            if (subscribers.remove(subscriber)) {
+                evicted.increment();
+                log.info("Change feed subscriber evicted: {} events buffered", bufferCapacity);
+                subscriber.evicted = true;
+            }
+        }
+        scheduleDrain(subscriber);
+    }
+
+    private void scheduleDrain(Subscriber subscriber) {
+        if (subscriber.draining.compareAndSet(false, true)) {
+            executor.execute(() -> drain(subscriber));
+        }
+    }
+
+    private void drain(Subscriber subscriber) {
+        try {
+            if (subscriber.evicted) {
+                subscriber.buffer.clear();
+                subscriber.emitter.send(SseEmitter.event().name("evicted").data("Too slow to keep up; reload and reconnect"));
+                subscriber.emitter.complete();
+                return;
+            }
+            Set<DataWithMediaType> message;
+            while ((message = subscriber.buffer.poll()) != null) {
+                subscriber.emitter.send(message);
+                sent.increment();
+            }
+        } catch (IOException | IllegalStateException e) {
+            // Client gone or stream already completed
+            subscribers.remove(subscriber);
+            subscriber.buffer.clear();
+            return;
+        } finally {
+            subscriber.draining.set(false);
+        }
+        // Events offered after the last poll but before draining was released
+        if (!subscriber.buffer.isEmpty() || subscriber.evicted) {
+            scheduleDrain(subscriber);
+        }
+    }
+
+    private static final class Subscriber {
+        private final SseEmitter emitter;
+        private final Long cohortId;
+        private final BlockingQueue<Set<DataWithMediaType>> buffer;
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private volatile boolean evicted;
+
+        private Subscriber(SseEmitter emitter, Long cohortId, BlockingQueue<Set<DataWithMediaType>> buffer) {
+            this.emitter = emitter;
+            this.cohortId = cohortId;
+            this.buffer = buffer;
+        }
+    }
+}
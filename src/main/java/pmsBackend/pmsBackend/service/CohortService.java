@@ -1,36 +1,86 @@
 package pmsBackend.pmsBackend.service;
 
+import io.micrometer.core.annotation.Timed;
 import jakarta.persistence.EntityNotFoundException;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import pmsBackend.pmsBackend.config.CacheConfig;
 import pmsBackend.pmsBackend.dto.CohortRequestDTO;
 import pmsBackend.pmsBackend.dto.CohortResponseDTO;
+import pmsBackend.pmsBackend.dto.FieldSelection;
 import pmsBackend.pmsBackend.dto.UserResponseDTO;
+import pmsBackend.pmsBackend.entity.AuditAction;
+import pmsBackend.pmsBackend.entity.AuditEntityType;
 import pmsBackend.pmsBackend.entity.Cohort;
 import pmsBackend.pmsBackend.entity.User;
 import pmsBackend.pmsBackend.repository.CohortRepository;
+import pmsBackend.pmsBackend.repository.DataVersion;
 import pmsBackend.pmsBackend.repository.UserRepository;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
+// Cohort reads are served from the cohorts / cohortList caches (see CacheConfig); every write
+// evicts exactly the entries it touches. Users embedded in the DTOs are evicted by UserService.
+//
+// A cache miss is read in a transaction of its own (REQUIRES_NEW). Student reads call in from their
+// read-only transactions, which may already hold a replica connection; a cohort read from there
+// would cache replica rows until the next cohort write. The new transaction is named after this
+// class, so pms.datasource.replica.primary-only-transactions sends it to the primary. Cache hits
+// never reach the transaction advice, so they cost no connection.
+@Timed("pms.service")
 @Service
 public class CohortService {
 
+    // Sparse fieldsets (?fields=, ?expand=) for cohort reads, in response order
+    public static final List<String> FIELDS = List.of("id", "cohortName", "duration", "startDate", "imageUrl",
+            "createdAt", "updatedAt");
+    public static final List<String> EXPANSIONS = List.of("facilitator", "createdBy");
+
     private final CohortRepository cohortRepository;
     private final UserRepository userRepository;
+    private final AuditService auditService;
+    private final ApplicationEventPublisher eventPublisher; // ChangeEvents for the change feed
+    private final CacheManager cacheManager;
+    private final TransactionTemplate missReads; // getCohortsById's misses, like the REQUIRES_NEW reads
 
     @Autowired
-    public CohortService(CohortRepository cohortRepository, UserRepository userRepository) {
+    public CohortService(CohortRepository cohortRepository, UserRepository userRepository, AuditService auditService,
+                         ApplicationEventPublisher eventPublisher, CacheManager cacheManager,
+                         PlatformTransactionManager transactionManager) {
         this.cohortRepository = cohortRepository;
         this.userRepository = userRepository;
+        this.auditService = auditService;
+        this.eventPublisher = eventPublisher;
+        this.cacheManager = cacheManager;
+        this.missReads = new TransactionTemplate(transactionManager);
+        this.missReads.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.missReads.setReadOnly(true);
+        this.missReads.setName(CohortService.class.getName() + ".getCohortsById");
     }
 
 
     @Transactional
+    @CacheEvict(cacheNames = CacheConfig.COHORT_LIST, allEntries = true)
     public CohortResponseDTO createCohort(CohortRequestDTO cohortRequestDTO, Long createdByUserId) {
         // 1. Fetch related entities
         User facilitator = userRepository.findById(cohortRequestDTO.getFacilitatorId())
@@ -52,32 +102,77 @@ public class CohortService {
 
         // 3. Save the cohort entity
         Cohort savedCohort = cohortRepository.save(cohort);
+        recordChange(AuditEvent.of(AuditEntityType.COHORT, savedCohort.getId(), AuditAction.CREATE,
+                createdByUserId, AuditEvent.diff(Map.of(), auditFields(savedCohort))));
 
         // 4. Convert and return Response DTO
         return convertToCohortResponseDTO(savedCohort);
     }
 
 
-    @Transactional(readOnly = true)
+    @Transactional(readOnly = true, propagation = Propagation.REQUIRES_NEW)
+    @Cacheable(cacheNames = CacheConfig.COHORTS, key = "#id")
     public CohortResponseDTO getCohortById(Long id) {
-        Cohort cohort = cohortRepository.findById(id)
+        Cohort cohort = cohortRepository.findWithUsersById(id)
                 .orElseThrow(() -> new EntityNotFoundException("Cohort not found with ID: " + id));
         return convertToCohortResponseDTO(cohort);
     }
 
 
-    @Transactional(readOnly = true)
+    // getCohortById for a page of students: ids found in the cohorts cache are answered from it, the
+    // rest are read in one statement and cached, so a cold cache costs one query however many cohorts
+    // the page spans. Ids with no cohort are left out of the map. Only the misses open a transaction.
+    public Map<Long, CohortResponseDTO> getCohortsById(Collection<Long> ids) {
+        Cache cache = cacheManager.getCache(CacheConfig.COHORTS);
+        Map<Long, CohortResponseDTO> cohorts = new HashMap<>();
+        List<Long> missing = new ArrayList<>();
+        for (Long id : new LinkedHashSet<>(ids)) {
+            CohortResponseDTO cached = cache.get(id, CohortResponseDTO.class);
+            if (cached != null) {
+                cohorts.put(id, cached);
+            } else {
+                missing.add(id);
+            }
+        }
+        if (!missing.isEmpty()) {
+            missReads.executeWithoutResult(tx -> {
+                for (Cohort cohort : cohortRepository.findAllWithUsersByIdIn(missing)) {
+                    CohortResponseDTO dto = convertToCohortResponseDTO(cohort);
+                    cache.put(cohort.getId(), dto);
+                    cohorts.put(cohort.getId(), dto);
+                }
+            });
+        }
+        return cohorts;
+    }
+
+
+    @Transactional(readOnly = true, propagation = Propagation.REQUIRES_NEW)
+    @Cacheable(cacheNames = CacheConfig.COHORT_LIST)
     public List<CohortResponseDTO> getAllCohorts() {
-        return cohortRepository.findAll().stream()
+        return cohortRepository.findAllWithUsers().stream()
                 .map(this::convertToCohortResponseDTO)
                 .collect(Collectors.toList());
     }
 
 
+    // Validator for the cohort responses (ETags). Cached next to the list and evicted with it.
+    @Transactional(readOnly = true, propagation = Propagation.REQUIRES_NEW)
+    @Cacheable(cacheNames = CacheConfig.COHORT_LIST, key = "'version'")
+    public DataVersion getCohortsVersion() {
+        return cohortRepository.findVersion();
+    }
+
+
     @Transactional
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.COHORTS, key = "#id"),
+            @CacheEvict(cacheNames = CacheConfig.COHORT_LIST, allEntries = true)
+    })
     public CohortResponseDTO updateCohort(Long id, CohortRequestDTO cohortRequestDTO, Long updatedByUserId) {
-        Cohort existingCohort = cohortRepository.findById(id)
+        Cohort existingCohort = cohortRepository.findWithUsersById(id)
                 .orElseThrow(() -> new EntityNotFoundException("Cohort not found with ID: " + id));
+        Map<String, Object> before = auditFields(existingCohort);
 
         // Update basic fields
         existingCohort.setCohortName(cohortRequestDTO.getCohortName());
@@ -95,20 +190,68 @@ public class CohortService {
 
         // Save the updated cohort
         Cohort updatedCohort = cohortRepository.save(existingCohort);
+
+        Map<String, Object> changes = AuditEvent.diff(before, auditFields(updatedCohort));
+        if (!changes.isEmpty()) {
+            recordChange(AuditEvent.of(AuditEntityType.COHORT, id, AuditAction.UPDATE, updatedByUserId, changes));
+        }
         return convertToCohortResponseDTO(updatedCohort);
     }
 
 
     @Transactional
-    public void deleteCohort(Long id) {
-        if (!cohortRepository.existsById(id)) {
-            throw new EntityNotFoundException("Cohort not found with ID: " + id);
-        }
-        cohortRepository.deleteById(id);
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.COHORTS, key = "#id"),
+            @CacheEvict(cacheNames = CacheConfig.COHORT_LIST, allEntries = true)
+    })
+    public void deleteCohort(Long id, Long deletedByUserId) {
+        Cohort cohort = cohortRepository.findById(id)
+                .orElseThrow(() -> new EntityNotFoundException("Cohort not found with ID: " + id));
+        Map<String, Object> before = auditFields(cohort);
+        cohortRepository.delete(cohort);
+        recordChange(AuditEvent.of(AuditEntityType.COHORT, id, AuditAction.DELETE, deletedByUserId,
+                AuditEvent.diff(before, Map.of())));
+    }
+
+
+    // Audit trail and change feed, both once the transaction commits (see StudentService.recordChange)
+    private void recordChange(AuditEvent event) {
+        auditService.record(event);
+        eventPublisher.publishEvent(ChangeEvent.of(event, event.entityId()));
+    }
+
+
+    // The audited fields of a cohort, in the order they appear in the trail
+    private static Map<String, Object> auditFields(Cohort cohort) {
+        Map<String, Object> fields = new LinkedHashMap<>();
+        fields.put("cohortName", cohort.getCohortName());
+        fields.put("duration", cohort.getDuration());
+        fields.put("startDate", cohort.getStartDate());
+        fields.put("imageUrl", cohort.getImageUrl());
+        fields.put("facilitatorId", cohort.getFacilitator() == null ? null : cohort.getFacilitator().getId());
+        return fields;
+    }
+
+
+    // Cohorts are read whole into the caches, so a sparse fieldset is cut from the cached DTO:
+    // it trims the payload, and there is no query left to narrow
+    public Map<String, Object> toFieldMap(CohortResponseDTO cohort, FieldSelection selection) {
+        Map<String, Object> fields = new LinkedHashMap<>();
+        selection.put(fields, "id", cohort::getId);
+        selection.put(fields, "cohortName", cohort::getCohortName);
+        selection.put(fields, "duration", cohort::getDuration);
+        selection.put(fields, "startDate", cohort::getStartDate);
+        selection.put(fields, "imageUrl", cohort::getImageUrl);
+        selection.put(fields, "createdAt", cohort::getCreatedAt);
+        selection.put(fields, "updatedAt", cohort::getUpdatedAt);
+        selection.putExpanded(fields, "facilitator", cohort::getFacilitator);
+        selection.putExpanded(fields, "createdBy", cohort::getCreatedBy);
+        return fields;
     }
 
 
-    private CohortResponseDTO convertToCohortResponseDTO(Cohort cohort) {
+    // Package-private for DtoConversionBenchmark
+    CohortResponseDTO convertToCohortResponseDTO(Cohort cohort) {
         // Convert Facilitator User entity to UserResponseDTO
         UserResponseDTO facilitatorDTO = null;
         if (cohort.getFacilitator() != null) {
@@ -0,0 +1,84 @@
+package pmsBackend.pmsBackend.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import pmsBackend.pmsBackend.dto.CohortResponseDTO;
+import pmsBackend.pmsBackend.dto.CohortStatsDTO;
+import pmsBackend.pmsBackend.entity.StudentStatus;
+import pmsBackend.pmsBackend.repository.StudentRepository;
+import pmsBackend.pmsBackend.repository.StudentStatusAggregate;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+// Enrolment statistics per cohort. The database does the aggregation (GROUP BY cohort, status),
+// so the response size and the work done here depend on the number of cohorts, not students.
+// Cohort names come from the cohort cache.
+@Service
+public class CohortStatsService {
+
+    private final StudentRepository studentRepository;
+    private final CohortService cohortService;
+
+    @Autowired
+    public CohortStatsService(StudentRepository studentRepository, CohortService cohortService) {
+        this.studentRepository = studentRepository;
+        this.cohortService = cohortService;
+    }
+
+
+    @Transactional(readOnly = true)
+    public CohortStatsDTO getCohortStats(Long cohortId) {
+        CohortResponseDTO cohort = cohortService.getCohortById(cohortId); // throws EntityNotFoundException
+        return toStatsDTO(cohort, studentRepository.aggregateByStatusForCohort(cohortId));
+    }
+
+
+    // Every cohort, including those without students
+    @Transactional(readOnly = true)
+    public List<CohortStatsDTO> getAllCohortStats() {
+        Map<Long, List<StudentStatusAggregate>> byCohort = studentRepository.aggregateByCohortAndStatus().stream()
+                .collect(Collectors.groupingBy(StudentStatusAggregate::cohortId));
+        return cohortService.getAllCohorts().stream()
+                .map(cohort -> toStatsDTO(cohort, byCohort.getOrDefault(cohort.getId(), List.of())))
+                .collect(Collectors.toList());
+    }
+
+
+    // Folds the per-status rows of one cohort into its totals
+    private CohortStatsDTO toStatsDTO(CohortResponseDTO cohort, List<StudentStatusAggregate> rows) {
+        Map<StudentStatus, Long> byStatus = new EnumMap<>(StudentStatus.class);
+        for (StudentStatus status : StudentStatus.values()) {
+            byStatus.put(status, 0L);
+        }
+
+        long total = 0;
+        long progressSum = 0;
+        Integer min = null;
+        Integer max = null;
+        for (StudentStatusAggregate row : rows) {
+            // Students without a status are counted in the total only
+            if (row.status() != null) {
+                byStatus.put(row.status(), row.count());
+            }
+            total += row.count();
+            progressSum += row.progressSum();
+            min = min == null ? row.minProgress() : Math.min(min, row.minProgress());
+            max = max == null ? row.maxProgress() : Math.max(max, row.maxProgress());
+        }
+
+        return CohortStatsDTO.builder()
+                .cohortId(cohort.getId())
+                .cohortName(cohort.getCohortName())
+                .totalStudents(total)
+                .studentsByStatus(byStatus)
+                .averageProgress(total == 0 ? null : (double) progressSum / total)
+                .minProgress(min)
+                .maxProgress(max)
+                .build();
+    }
+}
@@ -0,0 +1,52 @@
+package pmsBackend.pmsBackend.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import pmsBackend.pmsBackend.dto.CursorPageResponseDTO;
+
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.IntFunction;
+
+// The keyset page shared by the list endpoints: resolves the requested size against pagination.*,
+// reads one row more than the page holds to learn whether another page follows, and hands out the
+// last row's cursor only when one does. Callers supply the query, the conversion and the cursor.
+@Component
+public class KeysetPager {
+
+    @Value("${pagination.default-size:20}")
+    private int defaultPageSize;
+
+    @Value("${pagination.max-size:100}")
+    private int maxPageSize;
+
+    public <R, T> CursorPageResponseDTO<T> page(Integer size, IntFunction<List<R>> fetch,
+                                                Function<List<R>, List<T>> convert, Function<R, String> cursorOf) {
+        int pageSize = resolvePageSize(size);
+
+        List<R> rows = fetch.apply(pageSize + 1);
+        boolean hasMore = rows.size() > pageSize;
+        if (hasMore) {
+            rows = rows.subList(0, pageSize);
+        }
+
+        List<T> items = convert.apply(rows);
+        return CursorPageResponseDTO.<T>builder()
+                .items(items)
+                .size(items.size())
+                .hasMore(hasMore)
+                .nextCursor(hasMore ? cursorOf.apply(rows.get(rows.size() - 1)) : null)
+                .build();
+    }
+
+
+    private int resolvePageSize(Integer size) {
+        if (size == null) {
+            return defaultPageSize;
+        }
+        if (size < 1) {
+            throw new IllegalArgumentException("Page size must be at least 1");
+        }
+        return Math.min(size, maxPageSize);
+    }
+}
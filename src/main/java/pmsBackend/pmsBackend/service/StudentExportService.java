@@ -0,0 +1,139 @@
+package pmsBackend.pmsBackend.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import pmsBackend.pmsBackend.entity.Student;
+import pmsBackend.pmsBackend.entity.StudentStatus;
+import pmsBackend.pmsBackend.repository.StudentRepository;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.stream.Stream;
+
+// Bulk student export. Rows are read through a database cursor (fetch size set on the query)
+// and written straight to the response, each entity detached once written, so memory use stays
+// flat however many students match.
+@Service
+public class StudentExportService {
+
+    public enum Format { CSV, NDJSON }
+
+    private static final String CSV_HEADER = "id,fullNames,emailAddress,phoneNumber,dateOfBirth,homeAddress,"
+            + "cohortId,cohortName,qualification,progress,status,createdAt,lastUpdated";
+
+    private final StudentRepository studentRepository;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate readOnlyTransaction;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    public StudentExportService(StudentRepository studentRepository, ObjectMapper objectMapper,
+                                PlatformTransactionManager transactionManager) {
+        this.studentRepository = studentRepository;
+        this.objectMapper = objectMapper;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+
+    // Writes every matching student to the stream; filters are optional (null = no filter).
+    // The caller owns the stream and closes it.
+    public void exportStudents(OutputStream output, Format format, StudentStatus status, Long cohortId) {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8));
+        // The cursor only stays open inside a transaction (PostgreSQL ignores the fetch size in autocommit)
+        readOnlyTransaction.executeWithoutResult(tx -> {
+            try (Stream<Student> students = studentRepository.streamForExport(status, cohortId)) {
+                if (format == Format.CSV) {
+                    writer.write(CSV_HEADER);
+                    writer.write('\n');
+                }
+                students.forEach(student -> {
+                    StudentExportRow row = toRow(student);
+                    entityManager.detach(student);
+                    try {
+                        writer.write(format == Format.CSV ? toCsv(row) : objectMapper.writeValueAsString(row));
+                        writer.write('\n');
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+                writer.flush();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+
+    private StudentExportRow toRow(Student student) {
+        return new StudentExportRow(
+                student.getId(),
+                student.getFullNames(),
+                student.getEmailAddress(),
+                student.getPhoneNumber(),
+                student.getDateOfBirth(),
+                student.getHomeAddress(),
+                student.getCohort().getId(),
+                student.getCohort().getCohortName(),
+                student.getQualification(),
+                student.getProgress(),
+                student.getStatus(),
+                student.getCreatedAt(),
+                student.getLastUpdated());
+    }
+
+
+    private static String toCsv(StudentExportRow row) {
+        StringBuilder line = new StringBuilder(256);
+        appendCsv(line, row.id()).append(',');
+        appendCsv(line, row.fullNames()).append(',');
+        appendCsv(line, row.emailAddress()).append(',');
+        appendCsv(line, row.phoneNumber()).append(',');
+        appendCsv(line, row.dateOfBirth()).append(',');
+        appendCsv(line, row.homeAddress()).append(',');
+        appendCsv(line, row.cohortId()).append(',');
+        appendCsv(line, row.cohortName()).append(',');
+        appendCsv(line, row.qualification()).append(',');
+        appendCsv(line, row.progress()).append(',');
+        appendCsv(line, row.status()).append(',');
+        appendCsv(line, row.createdAt()).append(',');
+        appendCsv(line, row.lastUpdated());
+        return line.toString();
+    }
+
+
+    // RFC 4180: quote fields containing a separator, quote or line break; double embedded quotes
+    private static StringBuilder appendCsv(StringBuilder line, Object value) {
+        if (value == null) {
+            return line;
+        }
+        String text = value.toString();
+        if (text.indexOf(',') < 0 && text.indexOf('"') < 0 && text.indexOf('\n') < 0 && text.indexOf('\r') < 0) {
+            return line.append(text);
+        }
+        return line.append('"').append(text.replace("\"", "\"\"")).append('"');
+    }
+
+
+    // Flat view of a student; shared field names follow the import format
+    private record StudentExportRow(Long id, String fullNames, String emailAddress, String phoneNumber,
+                                    LocalDate dateOfBirth, String homeAddress, Long cohortId, String cohortName,
+                                    String qualification, int progress, StudentStatus status,
+                                    LocalDateTime createdAt, LocalDateTime lastUpdated) {
+    }
+}
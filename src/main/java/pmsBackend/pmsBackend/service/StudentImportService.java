@@ -0,0 +1,353 @@
+package pmsBackend.pmsBackend.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityNotFoundException;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import pmsBackend.pmsBackend.dto.StudentImportResultDTO;
+import pmsBackend.pmsBackend.dto.StudentRequestDTO;
+import pmsBackend.pmsBackend.entity.AuditAction;
+import pmsBackend.pmsBackend.entity.AuditEntityType;
+import pmsBackend.pmsBackend.entity.Cohort;
+import pmsBackend.pmsBackend.entity.Student;
+import pmsBackend.pmsBackend.entity.StudentStatus;
+import pmsBackend.pmsBackend.entity.User;
+import pmsBackend.pmsBackend.repository.CohortRepository;
+import pmsBackend.pmsBackend.repository.StudentRepository;
+import pmsBackend.pmsBackend.repository.UserRepository;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+// Bulk student import. The upload is read line by line and never held in memory as a whole;
+// valid rows are inserted in chunks, each chunk in its own transaction, and Hibernate sends each
+// chunk as JDBC batches (hibernate.jdbc.batch_size, with Student ids from a pooled sequence).
+// A chunk that fails at the database is retried row by row so the report pinpoints the bad rows.
+@Service
+public class StudentImportService {
+
+    public enum Format { CSV, NDJSON }
+
+    private static final int MAX_REPORTED_ERRORS = 1000;
+
+    // CSV header names match the StudentRequestDTO / NDJSON field names
+    private static final List<String> CSV_COLUMNS = List.of("fullNames", "emailAddress", "phoneNumber", "dateOfBirth",
+            "homeAddress", "cohortId", "qualification", "progress", "status");
+
+    private final StudentRepository studentRepository;
+    private final UserRepository userRepository;
+    private final CohortRepository cohortRepository;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final AuditService auditService;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${students.import.chunk-size:500}")
+    private int chunkSize;
+
+    @Autowired
+    public StudentImportService(StudentRepository studentRepository, UserRepository userRepository,
+                                CohortRepository cohortRepository, ObjectMapper objectMapper,
+                                TransactionTemplate transactionTemplate, AuditService auditService,
+                                ApplicationEventPublisher eventPublisher) {
+        this.studentRepository = studentRepository;
+        this.userRepository = userRepository;
+        this.cohortRepository = cohortRepository;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = transactionTemplate;
+        this.auditService = auditService;
+        this.eventPublisher = eventPublisher;
+    }
+
+
+    public StudentImportResultDTO importStudents(InputStream input, Format format, Long createdByUserId) throws IOException {
+        if (!userRepository.existsById(createdByUserId)) {
+            throw new EntityNotFoundException("Creator user not found with ID: " + createdByUserId);
+        }
+
+        StudentImportResultDTO result = new StudentImportResultDTO();
+        ImportState state = new ImportState(createdByUserId);
+
+        BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+        List<String> csvHeader = null;
+        String line;
+        long lineNumber = 0;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (line.isBlank()) {
+                continue;
+            }
+            if (format == Format.CSV && csvHeader == null) {
+                csvHeader = parseCsvHeader(line);
+                continue;
+            }
+
+            result.setTotalRows(result.getTotalRows() + 1);
+            try {
+                StudentRequestDTO row = format == Format.CSV ? parseCsvRow(csvHeader, line) : parseJsonRow(line);
+                validate(row, state);
+                state.pending.add(new PendingRow(lineNumber, row));
+            } catch (IllegalArgumentException e) {
+                recordError(result, lineNumber, e.getMessage());
+            }
+
+            if (state.pending.size() >= chunkSize) {
+                flush(state, result);
+            }
+        }
+        flush(state, result);
+
+        // One summary entry per import; the imported rows themselves are not audited one by one
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("format", format);
+        summary.put("totalRows", result.getTotalRows());
+        summary.put("imported", result.getImported());
+        summary.put("failed", result.getFailed());
+        AuditEvent event = AuditEvent.of(AuditEntityType.STUDENT, null, AuditAction.IMPORT, createdByUserId, summary);
+        auditService.record(event);
+        if (result.getImported() > 0) {
+            // Chunks have committed by now; the feed gets one event for the cohorts the rows referenced
+            Long[] cohortIds = state.cohorts.entrySet().stream()
+                    .filter(Map.Entry::getValue)
+                    .map(Map.Entry::getKey)
+                    .toArray(Long[]::new);
+            eventPublisher.publishEvent(ChangeEvent.of(event, cohortIds));
+        }
+        return result;
+    }
+
+
+    private void flush(ImportState state, StudentImportResultDTO result) {
+        if (state.pending.isEmpty()) {
+            return;
+        }
+
+        // One query per chunk for emails that already exist in the table
+        Set<String> existing = new HashSet<>(studentRepository.findExistingEmailAddresses(
+                state.pending.stream().map(row -> normalizeEmail(row.request().getEmailAddress())).toList()));
+        List<PendingRow> insertable = new ArrayList<>(state.pending.size());
+        for (PendingRow row : state.pending) {
+            if (existing.contains(normalizeEmail(row.request().getEmailAddress()))) {
+                recordError(result, row.line(), "A student with this email address already exists");
+            } else {
+                insertable.add(row);
+            }
+        }
+        state.pending.clear();
+
+        try {
+            insert(insertable, state.createdByUserId);
+            result.setImported(result.getImported() + insertable.size());
+        } catch (RuntimeException chunkFailure) {
+            // Isolate the offending rows instead of failing the whole chunk
+            for (PendingRow row : insertable) {
+                try {
+                    insert(List.of(row), state.createdByUserId);
+                    result.setImported(result.getImported() + 1);
+                } catch (RuntimeException rowFailure) {
+                    recordError(result, row.line(), "Insert failed: " + rootCauseMessage(rowFailure));
+                }
+            }
+        }
+    }
+
+
+    private void insert(List<PendingRow> rows, Long createdByUserId) {
+        transactionTemplate.executeWithoutResult(status -> {
+            // References only: no SELECT for the creator or the (already validated) cohorts
+            User creator = entityManager.getReference(User.class, createdByUserId);
+            for (PendingRow row : rows) {
+                StudentRequestDTO request = row.request();
+                entityManager.persist(Student.builder()
+                        .fullNames(request.getFullNames().trim())
+                        .emailAddress(normalizeEmail(request.getEmailAddress()))
+                        .phoneNumber(request.getPhoneNumber())
+                        .dateOfBirth(request.getDateOfBirth())
+                        .homeAddress(request.getHomeAddress())
+                        .cohort(entityManager.getReference(Cohort.class, request.getCohortId()))
+                        .qualification(request.getQualification())
+                        .progress(request.getProgress())
+                        .status(request.getStatus())
+                        .createdBy(creator)
+                        .build());
+            }
+            entityManager.flush();
+            entityManager.clear(); // keep the persistence context from growing across chunks
+        });
+    }
+
+
+    private void validate(StudentRequestDTO row, ImportState state) {
+        if (row.getFullNames() == null || row.getFullNames().isBlank()) {
+            throw new IllegalArgumentException("fullNames is required");
+        }
+        if (row.getEmailAddress() == null || !row.getEmailAddress().contains("@")) {
+            throw new IllegalArgumentException("A valid emailAddress is required");
+        }
+        if (row.getCohortId() == null) {
+            throw new IllegalArgumentException("cohortId is required");
+        }
+        // Each distinct cohort id is looked up once per import
+        boolean cohortExists = state.cohorts.computeIfAbsent(row.getCohortId(), cohortRepository::existsById);
+        if (!cohortExists) {
+            throw new IllegalArgumentException("Cohort not found with ID: " + row.getCohortId());
+        }
+        if (!state.seenEmails.add(normalizeEmail(row.getEmailAddress()))) {
+            throw new IllegalArgumentException("Duplicate emailAddress within this upload");
+        }
+    }
+
+
+    private StudentRequestDTO parseJsonRow(String line) {
+        try {
+            return objectMapper.readValue(line, StudentRequestDTO.class);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Malformed JSON: " + e.getOriginalMessage());
+        }
+    }
+
+
+    private List<String> parseCsvHeader(String line) {
+        List<String> header = parseCsvLine(line);
+        for (String column : header) {
+            if (!CSV_COLUMNS.contains(column)) {
+                throw new IllegalArgumentException("Unknown CSV column '" + column + "'; expected a header row using " + CSV_COLUMNS);
+            }
+        }
+        return header;
+    }
+
+
+    private StudentRequestDTO parseCsvRow(List<String> header, String line) {
+        List<String> values = parseCsvLine(line);
+        if (values.size() != header.size()) {
+            throw new IllegalArgumentException("Expected " + header.size() + " columns but found " + values.size());
+        }
+
+        StudentRequestDTO row = new StudentRequestDTO();
+        for (int i = 0; i < header.size(); i++) {
+            String value = values.get(i).isEmpty() ? null : values.get(i);
+            if (value == null) {
+                continue;
+            }
+            String column = header.get(i);
+            try {
+                switch (column) {
+                    case "fullNames" -> row.setFullNames(value);
+                    case "emailAddress" -> row.setEmailAddress(value);
+                    case "phoneNumber" -> row.setPhoneNumber(value);
+                    case "dateOfBirth" -> row.setDateOfBirth(LocalDate.parse(value));
+                    case "homeAddress" -> row.setHomeAddress(value);
+                    case "cohortId" -> row.setCohortId(Long.parseLong(value));
+                    case "qualification" -> row.setQualification(value);
+                    case "progress" -> row.setProgress(Integer.parseInt(value));
+                    case "status" -> row.setStatus(StudentStatus.valueOf(value.toUpperCase(Locale.ROOT)));
+                }
+            } catch (DateTimeParseException e) {
+                throw new IllegalArgumentException("Invalid date in column " + column + ": " + value);
+            } catch (IllegalArgumentException e) {
+                // NumberFormatException and unknown enum constants land here too
+                throw new IllegalArgumentException("Invalid value in column " + column + ": " + value);
+            }
+        }
+        return row;
+    }
+
+
+    // RFC 4180 style: comma separated, fields may be "quoted" with "" as an escaped quote.
+    // Quoted fields may not span lines.
+    static List<String> parseCsvLine(String line) {
+        List<String> values = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    current.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    current.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                values.add(current.toString().trim());
+                current.setLength(0);
+            } else {
+                current.append(c);
+            }
+        }
+        if (quoted) {
+            throw new IllegalArgumentException("Unterminated quoted field");
+        }
+        values.add(current.toString().trim());
+        return values;
+    }
+
+
+    private void recordError(StudentImportResultDTO result, long line, String message) {
+        result.setFailed(result.getFailed() + 1);
+        if (result.getErrors().size() < MAX_REPORTED_ERRORS) {
+            result.getErrors().add(new StudentImportResultDTO.RowError(line, message));
+        } else {
+            result.setErrorsTruncated(true);
+        }
+    }
+
+
+    private static String normalizeEmail(String email) {
+        return email.trim();
+    }
+
+
+    private static String rootCauseMessage(Throwable e) {
+        Throwable cause = e;
+        while (cause.getCause() != null && cause.getCause() != cause) {
+            cause = cause.getCause();
+        }
+        return cause.getMessage();
+    }
+
+
+    private record PendingRow(long line, StudentRequestDTO request) {
+    }
+
+
+    // Per-import caches: cohort existence by id and the emails seen so far in this upload
+    private static final class ImportState {
+        private final Long createdByUserId;
+        private final Map<Long, Boolean> cohorts = new HashMap<>();
+        private final Set<String> seenEmails = new HashSet<>();
+        private final List<PendingRow> pending = new ArrayList<>();
+
+        private ImportState(Long createdByUserId) {
+            this.createdByUserId = createdByUserId;
+        }
+    }
+}
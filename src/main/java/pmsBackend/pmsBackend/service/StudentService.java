@@ -1,37 +1,83 @@
 package pmsBackend.pmsBackend.service;
 
+import io.micrometer.core.annotation.Timed;
 import jakarta.persistence.EntityNotFoundException;
+import jakarta.persistence.Tuple;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import pmsBackend.pmsBackend.dto.CohortResponseDTO;
+import pmsBackend.pmsBackend.dto.CohortRosterEntryDTO;
+import pmsBackend.pmsBackend.dto.FieldSelection;
+import pmsBackend.pmsBackend.dto.StudentBulkUpdateRequestDTO;
+import pmsBackend.pmsBackend.dto.StudentBulkUpdateResultDTO;
+import pmsBackend.pmsBackend.dto.CursorPageResponseDTO;
+import pmsBackend.pmsBackend.dto.StudentCursor;
 import pmsBackend.pmsBackend.dto.StudentRequestDTO;
 import pmsBackend.pmsBackend.dto.StudentResponseDTO;
+import pmsBackend.pmsBackend.dto.StudentSort;
 import pmsBackend.pmsBackend.dto.UserResponseDTO;
+import pmsBackend.pmsBackend.entity.AuditAction;
+import pmsBackend.pmsBackend.entity.AuditEntityType;
 import pmsBackend.pmsBackend.entity.Cohort;
+import pmsBackend.pmsBackend.entity.Role;
 import pmsBackend.pmsBackend.entity.Student;
+import pmsBackend.pmsBackend.entity.StudentStatus;
 import pmsBackend.pmsBackend.entity.User;
 import pmsBackend.pmsBackend.repository.CohortRepository;
+import pmsBackend.pmsBackend.repository.DataVersion;
 import pmsBackend.pmsBackend.repository.StudentRepository;
 import pmsBackend.pmsBackend.repository.UserRepository;
 
 import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
+@Timed("pms.service")
 @Service
 public class StudentService {
 
+    // Sparse fieldsets (?fields=, ?expand=) for student reads, in response order
+    public static final List<String> FIELDS = List.of("id", "fullNames", "emailAddress", "phoneNumber", "dateOfBirth",
+            "homeAddress", "cohortId", "qualification", "progress", "status", "createdAt", "lastUpdated");
+    public static final List<String> EXPANSIONS = List.of("cohort", "createdBy");
+
+    // Cohort roster: the columns of CohortRosterEntryDTO, sortable only along the roster indexes
+    private static final FieldSelection ROSTER = FieldSelection.parse("fullNames,progress,status", null, FIELDS, EXPANSIONS);
+    private static final Set<StudentSort> ROSTER_SORTS = EnumSet.of(StudentSort.FULL_NAMES, StudentSort.PROGRESS);
+    // Bulk updates take thousands of ids; the audit entry keeps their count and the first few
+    private static final int AUDITED_ID_SAMPLE = 20;
+
     private final StudentRepository studentRepository;
     private final UserRepository userRepository;
     private final CohortRepository cohortRepository;
+    private final CohortService cohortService; // cached cohort reads
+    private final AuditService auditService;
+    private final ApplicationEventPublisher eventPublisher; // ChangeEvents for the change feed
+    private final KeysetPager keysetPager;
 
     @Autowired
-    public StudentService(StudentRepository studentRepository, UserRepository userRepository, CohortRepository cohortRepository) {
+    public StudentService(StudentRepository studentRepository, UserRepository userRepository,
+                          CohortRepository cohortRepository, CohortService cohortService,
+                          AuditService auditService, ApplicationEventPublisher eventPublisher,
+                          KeysetPager keysetPager) {
         this.studentRepository = studentRepository;
         this.userRepository = userRepository;
         this.cohortRepository = cohortRepository;
+        this.cohortService = cohortService;
+        this.auditService = auditService;
+        this.eventPublisher = eventPublisher;
+        this.keysetPager = keysetPager;
     }
 
 
@@ -41,8 +87,7 @@ public class StudentService {
         User creator = userRepository.findById(createdByUserId)
                 .orElseThrow(() -> new EntityNotFoundException("Creator user not found with ID: " + createdByUserId));
 
-        Cohort cohort = cohortRepository.findById(studentRequestDTO.getCohortId())
-                .orElseThrow(() -> new EntityNotFoundException("Cohort not found with ID: " + studentRequestDTO.getCohortId()));
+        Cohort cohort = cohortReference(studentRequestDTO.getCohortId());
 
         // 2. Build the Student entity from DTO
         Student student = Student.builder()
@@ -61,6 +106,8 @@ public class StudentService {
 
         // 3. Save the student entity
         Student savedStudent = studentRepository.save(student);
+        recordChange(AuditEvent.of(AuditEntityType.STUDENT, savedStudent.getId(), AuditAction.CREATE,
+                createdByUserId, AuditEvent.diff(Map.of(), auditFields(savedStudent))), cohort.getId());
 
         // 4. Convert and return Response DTO
         return convertToStudentResponseDTO(savedStudent);
@@ -69,25 +116,135 @@ public class StudentService {
 
     @Transactional(readOnly = true)
     public StudentResponseDTO getStudentById(Long id) {
-        Student student = studentRepository.findById(id)
+        Student student = studentRepository.findWithAssociationsById(id)
                 .orElseThrow(() -> new EntityNotFoundException("Student not found with ID: " + id));
         return convertToStudentResponseDTO(student);
     }
 
 
+    // Only the selected columns are read, and nothing is joined unless createdBy is expanded
+    @Transactional(readOnly = true)
+    public Map<String, Object> getStudentFieldsById(Long id, FieldSelection selection) {
+        Tuple row = studentRepository.findProjectionById(id, selection)
+                .orElseThrow(() -> new EntityNotFoundException("Student not found with ID: " + id));
+        return toFieldMap(row, selection, cohortService::getCohortById);
+    }
+
+
+    @Transactional(readOnly = true)
+    public CursorPageResponseDTO<StudentResponseDTO> getStudentsPage(StudentStatus status, Long cohortId,
+                                                                     StudentSort sort, Sort.Direction direction,
+                                                                     String cursor, Integer size) {
+        Keyset keyset = Keyset.resume(cursor, status, cohortId, sort, direction);
+
+        return keysetPager.page(size,
+                limit -> studentRepository.findPage(status, cohortId, keyset.sort(), keyset.direction(), keyset.after(), limit),
+                rows -> {
+                    // Cohorts for the whole page at once: cache hits, then a single query for the misses
+                    Map<Long, CohortResponseDTO> cohorts = cohortService.getCohortsById(rows.stream()
+                            .map(student -> student.getCohort().getId())
+                            .toList());
+                    return rows.stream()
+                            .map(student -> convertToStudentResponseDTO(student, cohorts::get))
+                            .collect(Collectors.toList());
+                },
+                last -> StudentCursor.of(keyset.sort(), keyset.direction(), status, cohortId, last).encode());
+    }
+
+
+    // getStudentsPage with a sparse fieldset: the same keyset page, projected in SQL
     @Transactional(readOnly = true)
-    public List<StudentResponseDTO> getAllStudents() {
-        return studentRepository.findAll().stream()
-                .map(this::convertToStudentResponseDTO)
-                .collect(Collectors.toList());
+    public CursorPageResponseDTO<Map<String, Object>> getStudentFieldsPage(StudentStatus status, Long cohortId,
+                                                                           StudentSort sort, Sort.Direction direction,
+                                                                           String cursor, Integer size,
+                                                                           FieldSelection selection) {
+        Keyset keyset = Keyset.resume(cursor, status, cohortId, sort, direction);
+
+        return keysetPager.page(size,
+                limit -> studentRepository.findPageProjection(status, cohortId, keyset.sort(), keyset.direction(),
+                        keyset.after(), limit, selection),
+                rows -> {
+                    Map<Long, CohortResponseDTO> cohorts = selection.expands("cohort")
+                            ? cohortService.getCohortsById(rows.stream().map(row -> row.get("cohortId", Long.class)).toList())
+                            : Map.of();
+                    return rows.stream()
+                            .map(row -> toFieldMap(row, selection, cohorts::get))
+                            .collect(Collectors.toList());
+                },
+                last -> StudentCursor.of(keyset.sort(), keyset.direction(), status, cohortId, last).encode());
     }
 
 
+    // One cohort's students as a keyset page, read as a projection from a (cohort_id, sort key, id)
+    // index that carries the roster columns: a single index range scan, no entity or association loads
+    @Transactional(readOnly = true)
+    public CursorPageResponseDTO<CohortRosterEntryDTO> getCohortRoster(Long cohortId, StudentStatus status,
+                                                                      StudentSort sort, Sort.Direction direction,
+                                                                      String cursor, Integer size) {
+        cohortService.getCohortById(cohortId); // throws EntityNotFoundException, answered from the cache
+
+        Keyset keyset = Keyset.resume(cursor, status, cohortId, sort, direction);
+        if (!ROSTER_SORTS.contains(keyset.sort())) {
+            throw new IllegalArgumentException("Unsupported roster sort field: " + keyset.sort().getAttribute());
+        }
+
+        return keysetPager.page(size,
+                limit -> studentRepository.findPageProjection(status, cohortId, keyset.sort(), keyset.direction(),
+                        keyset.after(), limit, ROSTER),
+                rows -> rows.stream()
+                        .map(row -> CohortRosterEntryDTO.builder()
+                                .id(row.get("id", Long.class))
+                                .fullNames(row.get("fullNames", String.class))
+                                .progress(row.get("progress", Integer.class))
+                                .status(row.get("status", StudentStatus.class))
+                                .build())
+                        .collect(Collectors.toList()),
+                last -> StudentCursor.of(keyset.sort(), keyset.direction(), status, cohortId, last).encode());
+    }
+
+
+    // Where a student page starts: the requested sort from the top, or the position a cursor carries.
+    // A cursor brings its own sort key and direction, so follow-up pages can't drift, and is only
+    // accepted under the filters it was issued for.
+    private record Keyset(StudentSort sort, Sort.Direction direction, StudentCursor after) {
+
+        static Keyset resume(String cursor, StudentStatus status, Long cohortId,
+                             StudentSort sort, Sort.Direction direction) {
+            if (cursor == null || cursor.isBlank()) {
+                return new Keyset(sort, direction, null);
+            }
+            StudentCursor after = StudentCursor.decode(cursor);
+            after.requireFilters(status, cohortId);
+            return new Keyset(after.sort(), after.direction(), after);
+        }
+    }
+
+
+    // Validators for the student responses (ETags): one aggregate query over the students, plus the
+    // cached cohort version since the DTOs embed cohorts. A null selection is the full representation;
+    // a sparse one without createdBy leaves the creators out of the query.
+    @Transactional(readOnly = true)
+    public String getStudentsVersion(StudentStatus status, Long cohortId, FieldSelection selection) {
+        return studentRepository.findVersion(status, cohortId, includesCreators(selection))
+                + "|" + cohortService.getCohortsVersion();
+    }
+
+
+    @Transactional(readOnly = true)
+    public String getStudentVersion(Long id, FieldSelection selection) {
+        DataVersion version = studentRepository.findVersionById(id, includesCreators(selection));
+        if (version.count() == 0) {
+            throw new EntityNotFoundException("Student not found with ID: " + id);
+        }
+        return version + "|" + cohortService.getCohortsVersion();
+    }
+
 
     @Transactional
     public StudentResponseDTO updateStudent(Long id, StudentRequestDTO studentRequestDTO, Long updatedByUserId) {
-        Student existingStudent = studentRepository.findById(id)
+        Student existingStudent = studentRepository.findWithAssociationsById(id)
                 .orElseThrow(() -> new EntityNotFoundException("Student not found with ID: " + id));
+        Map<String, Object> before = auditFields(existingStudent);
 
         // Update basic fields
         existingStudent.setFullNames(studentRequestDTO.getFullNames());
@@ -102,47 +259,142 @@ public class StudentService {
 
         // Update Cohort if changed
         if (!existingStudent.getCohort().getId().equals(studentRequestDTO.getCohortId())) {
-            Cohort newCohort = cohortRepository.findById(studentRequestDTO.getCohortId())
-                    .orElseThrow(() -> new EntityNotFoundException("New Cohort not found with ID: " + studentRequestDTO.getCohortId()));
-            existingStudent.setCohort(newCohort);
+            existingStudent.setCohort(cohortReference(studentRequestDTO.getCohortId()));
         }
 
         // Save the updated student
         Student updatedStudent = studentRepository.save(existingStudent);
+
+        Map<String, Object> changes = AuditEvent.diff(before, auditFields(updatedStudent));
+        if (!changes.isEmpty()) {
+            // A move between cohorts concerns both
+            recordChange(AuditEvent.of(AuditEntityType.STUDENT, id, AuditAction.UPDATE, updatedByUserId, changes),
+                    (Long) before.get("cohortId"), updatedStudent.getCohort().getId());
+        }
         return convertToStudentResponseDTO(updatedStudent);
     }
 
 
+    // One transaction, one UPDATE per 1000 ids (or a single one for a filter), nothing loaded
     @Transactional
-    public void deleteStudent(Long id) {
-        if (!studentRepository.existsById(id)) {
-            throw new EntityNotFoundException("Student not found with ID: " + id);
+    public StudentBulkUpdateResultDTO bulkUpdateStudents(StudentBulkUpdateRequestDTO request, Long updatedByUserId) {
+        StudentBulkUpdateRequestDTO.Selection selection = request.getSelection();
+        StudentBulkUpdateRequestDTO.Patch patch = request.getPatch();
+        if (selection == null || (isEmpty(selection.getIds()) && selection.getCohortId() == null && selection.getStatus() == null)) {
+            throw new IllegalArgumentException("Select students by ids, cohortId and/or status");
         }
-        studentRepository.deleteById(id);
-    }
-
-
-    private StudentResponseDTO convertToStudentResponseDTO(Student student) {
-        // Convert Cohort entity to CohortResponseDTO
-        CohortResponseDTO cohortDTO = null;
-        if (student.getCohort() != null) {
-            cohortDTO = CohortResponseDTO.builder()
-                    .id(student.getCohort().getId())
-                    .cohortName(student.getCohort().getCohortName())
-                    .duration(student.getCohort().getDuration())
-                    .startDate(student.getCohort().getStartDate())
-                    .imageUrl(student.getCohort().getImageUrl())
-                    // Nested facilitator in CohortResponseDTO
-                    .facilitator(student.getCohort().getFacilitator() != null ?
-                            UserResponseDTO.builder()
-                                    .id(student.getCohort().getFacilitator().getId())
-                                    .fullName(student.getCohort().getFacilitator().getFullName())
-                                    .email(student.getCohort().getFacilitator().getEmail())
-                                    .role(student.getCohort().getFacilitator().getRole().name()) // <--- .name() for Role enum
-                                    .build() : null)
-                    .build();
+        if (!isEmpty(selection.getIds()) && selection.getIds().contains(null)) {
+            throw new IllegalArgumentException("ids must not contain null");
+        }
+        if (patch == null || (patch.getStatus() == null && patch.getProgress() == null
+                && patch.getProgressDelta() == null && patch.getCohortId() == null)) {
+            throw new IllegalArgumentException("The patch must change at least one of status, progress, progressDelta, cohortId");
+        }
+        if (patch.getProgress() != null && patch.getProgressDelta() != null) {
+            throw new IllegalArgumentException("Send either progress or progressDelta, not both");
+        }
+        if (patch.getProgress() != null && (patch.getProgress() < 0 || patch.getProgress() > 100)) {
+            throw new IllegalArgumentException("progress must be between 0 and 100");
+        }
+        if (patch.getCohortId() != null) {
+            cohortService.getCohortById(patch.getCohortId()); // cached existence check
         }
 
+        List<Long> ids = isEmpty(selection.getIds()) ? null : List.copyOf(new LinkedHashSet<>(selection.getIds()));
+        int updated = studentRepository.bulkUpdate(ids, selection.getStatus(), selection.getCohortId(), patch);
+
+        // Rows are never loaded, so the trail records the statement rather than per-student values
+        Map<String, Object> summary = new LinkedHashMap<>();
+        if (ids != null) {
+            summary.put("idCount", ids.size());
+            summary.put("sampleIds", ids.subList(0, Math.min(ids.size(), AUDITED_ID_SAMPLE)));
+        }
+        summary.put("selectedCohortId", selection.getCohortId());
+        summary.put("selectedStatus", selection.getStatus());
+        summary.put("status", patch.getStatus());
+        summary.put("progress", patch.getProgress());
+        summary.put("progressDelta", patch.getProgressDelta());
+        summary.put("cohortId", patch.getCohortId());
+        summary.put("updated", updated);
+        summary.values().removeIf(Objects::isNull);
+        AuditEvent event = AuditEvent.of(AuditEntityType.STUDENT, null, AuditAction.BULK_UPDATE, updatedByUserId, summary);
+        if (selection.getCohortId() == null) {
+            recordChange(event); // the selected students may be in any cohort
+        } else {
+            recordChange(event, selection.getCohortId(), patch.getCohortId());
+        }
+
+        return StudentBulkUpdateResultDTO.builder()
+                .requested(ids == null ? null : ids.size())
+                .updated(updated)
+                .build();
+    }
+
+
+    @Transactional
+    public void deleteStudent(Long id, Long deletedByUserId) {
+        Student student = studentRepository.findById(id)
+                .orElseThrow(() -> new EntityNotFoundException("Student not found with ID: " + id));
+        Map<String, Object> before = auditFields(student);
+        studentRepository.delete(student);
+        recordChange(AuditEvent.of(AuditEntityType.STUDENT, id, AuditAction.DELETE, deletedByUserId,
+                AuditEvent.diff(before, Map.of())), (Long) before.get("cohortId"));
+    }
+
+
+    // The audit trail and the change feed get the same change set, both only once the transaction
+    // commits. No cohort ids means the change may touch any cohort.
+    private void recordChange(AuditEvent event, Long... cohortIds) {
+        auditService.record(event);
+        eventPublisher.publishEvent(ChangeEvent.of(event, cohortIds));
+    }
+
+
+    // The audited fields of a student, in the order they appear in the trail
+    private static Map<String, Object> auditFields(Student student) {
+        Map<String, Object> fields = new LinkedHashMap<>();
+        fields.put("fullNames", student.getFullNames());
+        fields.put("emailAddress", student.getEmailAddress());
+        fields.put("phoneNumber", student.getPhoneNumber());
+        fields.put("dateOfBirth", student.getDateOfBirth());
+        fields.put("homeAddress", student.getHomeAddress());
+        fields.put("cohortId", student.getCohort() == null ? null : student.getCohort().getId());
+        fields.put("qualification", student.getQualification());
+        fields.put("progress", student.getProgress());
+        fields.put("status", student.getStatus());
+        return fields;
+    }
+
+
+    // Existence is checked against the cohort cache (throws EntityNotFoundException), then only a
+    // reference is taken: the foreign key is all the insert/update needs
+    private Cohort cohortReference(Long cohortId) {
+        cohortService.getCohortById(cohortId);
+        return cohortRepository.getReferenceById(cohortId);
+    }
+
+
+    private static boolean includesCreators(FieldSelection selection) {
+        return selection == null || selection.expands("createdBy");
+    }
+
+
+    private static boolean isEmpty(List<Long> ids) {
+        return ids == null || ids.isEmpty();
+    }
+
+
+    // Package-private for DtoConversionBenchmark
+    StudentResponseDTO convertToStudentResponseDTO(Student student) {
+        return convertToStudentResponseDTO(student, cohortService::getCohortById);
+    }
+
+
+    // Cohort details come from the cohort cache (one by one, or a page's worth from getCohortsById);
+    // only the id is read from the (unloaded) association
+    private StudentResponseDTO convertToStudentResponseDTO(Student student, Function<Long, CohortResponseDTO> cohorts) {
+        CohortResponseDTO cohortDTO = student.getCohort() == null ? null : nestedCohortDTO(cohorts.apply(student.getCohort().getId()));
+
         // Convert CreatedBy User entity to UserResponseDTO
         UserResponseDTO createdByDTO = null;
         if (student.getCreatedBy() != null) {
@@ -170,4 +422,36 @@ public class StudentService {
                 .lastUpdated(student.getLastUpdated())
                 .build();
     }
+
+
+    // Projected row to response object: the selected fields in FIELDS order, then the expansions
+    private Map<String, Object> toFieldMap(Tuple row, FieldSelection selection, Function<Long, CohortResponseDTO> cohorts) {
+        Map<String, Object> fields = new LinkedHashMap<>();
+        for (String field : FIELDS) {
+            selection.put(fields, field, () -> row.get(field));
+        }
+        selection.putExpanded(fields, "cohort", () -> nestedCohortDTO(cohorts.apply(row.get("cohortId", Long.class))));
+        selection.putExpanded(fields, "createdBy", () -> UserResponseDTO.builder()
+                .id(row.get("createdById", Long.class))
+                .fullName(row.get("createdByFullName", String.class))
+                .email(row.get("createdByEmail", String.class))
+                .role(row.get("createdByRole", Role.class).name())
+                .build());
+        return fields;
+    }
+
+
+    private static CohortResponseDTO nestedCohortDTO(CohortResponseDTO cohort) {
+        if (cohort == null) {
+            return null; // deleted since the students were read
+        }
+        return CohortResponseDTO.builder()
+                .id(cohort.getId())
+                .cohortName(cohort.getCohortName())
+                .duration(cohort.getDuration())
+                .startDate(cohort.getStartDate())
+                .imageUrl(cohort.getImageUrl())
+                .facilitator(cohort.getFacilitator()) // Nested facilitator in CohortResponseDTO
+                .build();
+    }
 }
\ No newline at end of file
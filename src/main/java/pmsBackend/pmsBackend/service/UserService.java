@@ -1,27 +1,38 @@
 package pmsBackend.pmsBackend.service;
 
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import pmsBackend.pmsBackend.config.CacheConfig;
 import pmsBackend.pmsBackend.dto.LoginRequest;
 import pmsBackend.pmsBackend.dto.RegisterRequest;
 import pmsBackend.pmsBackend.dto.UserResponseDTO;
 import pmsBackend.pmsBackend.entity.Role;
 import pmsBackend.pmsBackend.entity.User;
 import pmsBackend.pmsBackend.repository.UserRepository;
+import pmsBackend.pmsBackend.security.PasswordHasher;
+import pmsBackend.pmsBackend.security.PasswordHashingBusyException;
+import pmsBackend.pmsBackend.security.TokenRevocationService;
 
 import java.util.List;
 import java.util.NoSuchElementException;
+import java.util.Objects;
 import java.util.Optional;
 
+@Timed("pms.service")
 @Service
 @RequiredArgsConstructor
 public class UserService {
     private final UserRepository userRepository;
-    private final PasswordEncoder passwordEncoder;
+    private final PasswordHasher passwordHasher; // BCrypt off the request threads
+    private final CacheManager cacheManager;
+    private final TokenRevocationService tokenRevocationService;
 
     public User registerUser(RegisterRequest request) {
 
@@ -37,7 +48,7 @@ public class UserService {
                 .fullName(request.fullName())
                 .email(request.email())
                 .cellphone(request.cellphone())
-                .password(passwordEncoder.encode(request.password()))
+                .password(passwordHasher.encode(request.password()))
                 .role(request.role())
                 .build();
         return userRepository.save(user);
@@ -47,10 +58,21 @@ public class UserService {
         User user = userRepository.findByEmail(request.email())
                 .orElseThrow(() -> new UsernameNotFoundException("User with email " + request.email() + " not found"));
 
-        if (!passwordEncoder.matches(request.password(), user.getPassword())) {
+        if (!passwordHasher.matches(request.password(), user.getPassword())) {
             throw new BadCredentialsException("Invalid email or password");
         }
 
+        // Lazily migrate hashes written with an older/lower cost while we still have the raw password
+        if (passwordHasher.upgradeEncoding(user.getPassword())) {
+            try {
+                user.setPassword(passwordHasher.encode(request.password()));
+                user = userRepository.save(user);
+                evictPrincipal(user.getEmail());
+            } catch (PasswordHashingBusyException e) {
+                // Under load the login still succeeds; the hash is upgraded on a later login
+            }
+        }
+
         return user;
     }
 
@@ -63,6 +85,13 @@ public class UserService {
                 .orElseThrow(() -> new UsernameNotFoundException("User not found with email: " + email));
     }
 
+    // Principal lookup for JwtAuthenticationFilter. Unknown emails are not cached, so a user
+    // registering later is seen straight away; writes below evict the entry explicitly.
+    @Cacheable(cacheNames = CacheConfig.PRINCIPALS, key = "#email", unless = "#result == null")
+    public Optional<User> findPrincipal(String email) {
+        return userRepository.findByEmail(email);
+    }
+
     public Optional<UserResponseDTO> getAuthenticatedUserProfile(Authentication authentication) {
         String email = authentication.getName(); // This should return the user's email/username
         Optional<User> userOptional = userRepository.findByEmail(email);
@@ -92,23 +121,60 @@ public class UserService {
                     throw new IllegalArgumentException("Cellphone already in use by another user");
                 });
 
+        String previousEmail = user.getEmail();
+        Role previousRole = user.getRole();
         user.setFullName(req.fullName());
         user.setEmail(req.email());
         user.setCellphone(req.cellphone());
         user.setRole(req.role());
 
-        return userRepository.save(user);
+        User savedUser = userRepository.save(user);
+        // Issued tokens carry the old email and role, so they must stop working
+        if (!Objects.equals(previousEmail, savedUser.getEmail()) || previousRole != savedUser.getRole()) {
+            tokenRevocationService.revokeAllTokensOf(previousEmail);
+        }
+        evictPrincipal(previousEmail);
+        evictPrincipal(savedUser.getEmail());
+        evictCohorts();
+        return savedUser;
     }
 
     public void deleteUser(Long id) {
-        userRepository.deleteById(id);
+        userRepository.findById(id).ifPresent(user -> {
+            userRepository.delete(user);
+            tokenRevocationService.revokeAllTokensOf(user.getEmail());
+            evictPrincipal(user.getEmail());
+            evictCohorts();
+        });
     }
 
     public User changeUserRole(Long id, Role newRole) {
         var user = userRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("User not found"));
         user.setRole(newRole);
-        return userRepository.save(user);
+        User savedUser = userRepository.save(user);
+        tokenRevocationService.revokeAllTokensOf(savedUser.getEmail()); // old tokens still carry the old role
+        evictPrincipal(savedUser.getEmail());
+        evictCohorts();
+        return savedUser;
+    }
+
+    // Evict after the write has been saved, so a concurrent lookup can't re-cache the old row
+    private void evictPrincipal(String email) {
+        Cache principals = cacheManager.getCache(CacheConfig.PRINCIPALS);
+        if (principals != null && email != null) {
+            principals.evict(email);
+        }
+    }
+
+    // Cached cohort DTOs embed their facilitator and creator, so any user change clears them
+    private void evictCohorts() {
+        for (String name : List.of(CacheConfig.COHORTS, CacheConfig.COHORT_LIST)) {
+            Cache cache = cacheManager.getCache(name);
+            if (cache != null) {
+                cache.clear();
+            }
+        }
     }
 
 
@@ -0,0 +1,67 @@
+-- Baseline: the schema Hibernate generated from the entities (PostgreSQL dialect) before
+-- migrations took over. Later changes go in new versioned scripts, never edits to this one.
+
+-- Student ids come from a pooled sequence so inserts can be batched (allocationSize = 50)
+create sequence students_id_seq start with 1 increment by 50;
+
+create table users (
+    id bigint generated by default as identity,
+    full_name varchar(255),
+    email varchar(255) unique,
+    cellphone varchar(255),
+    password varchar(255),
+    role varchar(255) check (role in ('ADMIN', 'FACILITATOR', 'CLIENT')),
+    created_at timestamp(6),
+    updated_at timestamp(6),
+    primary key (id)
+);
+
+create table cohorts (
+    id bigint generated by default as identity,
+    cohort_name varchar(255) not null unique,
+    duration varchar(255),
+    start_date date,
+    facilitator_user_id bigint not null,
+    image_url varchar(500),
+    created_by_user_id bigint not null,
+    created_at timestamp(6),
+    updated_at timestamp(6),
+    primary key (id)
+);
+
+create table students (
+    id bigint not null,
+    full_names varchar(255) not null,
+    email_address varchar(255) not null unique,
+    phone_number varchar(255),
+    date_of_birth date,
+    home_address varchar(255),
+    cohort_id bigint not null,
+    qualification varchar(255),
+    progress integer not null,
+    status varchar(255) check (status in ('ACTIVE', 'GRADUATED', 'DROPPED_OUT', 'ON_LEAVE')),
+    created_by_user_id bigint not null,
+    last_updated timestamp(6),
+    created_at timestamp(6),
+    primary key (id)
+);
+
+-- Append-only; entity and actor ids are deliberately not foreign keys
+create table audit_log (
+    id bigint generated by default as identity,
+    entity_type varchar(255) not null check (entity_type in ('STUDENT', 'COHORT')),
+    entity_id bigint,
+    action varchar(255) not null check (action in ('CREATE', 'UPDATE', 'DELETE', 'BULK_UPDATE', 'IMPORT')),
+    actor_user_id bigint,
+    changes text,
+    occurred_at timestamp(6) not null,
+    primary key (id)
+);
+
+create index idx_audit_log_entity on audit_log (entity_type, entity_id);
+create index idx_audit_log_actor on audit_log (actor_user_id);
+
+alter table cohorts add constraint fk_cohorts_facilitator foreign key (facilitator_user_id) references users;
+alter table cohorts add constraint fk_cohorts_created_by foreign key (created_by_user_id) references users;
+alter table students add constraint fk_students_cohort foreign key (cohort_id) references cohorts;
+alter table students add constraint fk_students_created_by foreign key (created_by_user_id) references users;
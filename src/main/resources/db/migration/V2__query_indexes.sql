@@ -0,0 +1,29 @@
+-- Indexes for the queries the application actually runs. Until now only the unique constraints
+-- (users.email, cohorts.cohort_name, students.email_address) were indexed, so every other lookup,
+-- filter, join and sorted page was a sequential scan. QueryPlanTests checks the plans.
+
+-- Student listing (StudentRepositoryImpl.findPage): keyset pages over (sort key, id), unfiltered
+-- or filtered by cohort or status. Equality column first, then the sort key and the tie-breaker,
+-- so a page is a range scan that stops after size + 1 rows instead of a sort of the whole table.
+create index idx_students_created_at on students (created_at, id);
+create index idx_students_full_names on students (full_names, id);
+create index idx_students_cohort_created_at on students (cohort_id, created_at, id);
+create index idx_students_status_created_at on students (status, created_at, id);
+
+-- Cohort statistics group by (cohort, status) over progress: answered from this index alone.
+-- Its leading cohort_id also serves the cohort filter with a status, and the foreign key.
+create index idx_students_cohort_status_progress on students (cohort_id, status, progress);
+
+-- Foreign keys without an index make deletes of the referenced user scan the child table
+create index idx_students_created_by on students (created_by_user_id);
+create index idx_cohorts_facilitator on cohorts (facilitator_user_id);
+create index idx_cohorts_created_by on cohorts (created_by_user_id);
+
+-- existsByCellphone / findByCellphone on every registration and profile update
+create index idx_users_cellphone on users (cellphone);
+
+-- Audit pages are keyset pages ordered by id desc within an entity or an actor
+drop index idx_audit_log_entity;
+drop index idx_audit_log_actor;
+create index idx_audit_log_entity on audit_log (entity_type, entity_id, id);
+create index idx_audit_log_actor on audit_log (actor_user_id, id);
@@ -0,0 +1,8 @@
+-- Cohort roster (GET /api/cohorts/{id}/students): keyset pages of one cohort sorted by name or
+-- progress, optionally filtered by status, selecting id, full_names, progress and status only.
+-- One index per sort order, (cohort_id, sort key, id) followed by the remaining roster columns, so a
+-- page is one index-only range scan; the status filter is applied to index entries, not rows.
+-- The trailing columns are key columns rather than INCLUDE columns because H2 runs these
+-- migrations in the tests.
+create index idx_students_cohort_full_names on students (cohort_id, full_names, id, progress, status);
+create index idx_students_cohort_progress on students (cohort_id, progress, id, full_names, status);
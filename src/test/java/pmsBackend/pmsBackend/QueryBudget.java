@@ -0,0 +1,33 @@
+package pmsBackend.pmsBackend;
+
+import pmsBackend.pmsBackend.config.JdbcStatementCounter;
+
+import java.util.Map;
+import java.util.concurrent.Callable;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Statement budgets for tests: runs the work on the current thread and fails when it executes more
+// SQL statements than allowed, listing the statements that ran more than once (a lazy association
+// touched in a loop shows up as one select repeated per row).
+public final class QueryBudget {
+
+	private QueryBudget() {
+	}
+
+	public static <T> T assertAtMost(int maxStatements, Callable<T> work) throws Exception {
+		T result;
+		JdbcStatementCounter.Scope statements = JdbcStatementCounter.open(true);
+		try {
+			result = work.call();
+		} finally {
+			statements.close();
+		}
+		Map<String, Integer> repeated = statements.repeatedShapes(1);
+		assertThat(statements.count())
+				.withFailMessage("Expected at most %d SQL statements but %d ran; repeated: %s",
+						maxStatements, statements.count(), repeated)
+				.isLessThanOrEqualTo(maxStatements);
+		return result;
+	}
+}
@@ -0,0 +1,70 @@
+package pmsBackend.pmsBackend;
+
+import org.springframework.stereotype.Component;
+import pmsBackend.pmsBackend.entity.Cohort;
+import pmsBackend.pmsBackend.entity.Role;
+import pmsBackend.pmsBackend.entity.Student;
+import pmsBackend.pmsBackend.entity.StudentStatus;
+import pmsBackend.pmsBackend.entity.User;
+import pmsBackend.pmsBackend.repository.CohortRepository;
+import pmsBackend.pmsBackend.repository.StudentRepository;
+import pmsBackend.pmsBackend.repository.UserRepository;
+
+import java.time.LocalDate;
+import java.util.function.UnaryOperator;
+
+// Seeds users, cohorts and students for @SpringBootTest classes, which pick it up through the
+// application's component scan. Every context shares one H2 database, so callers pass emails that
+// are unique across test classes (prefix them with the class's topic).
+@Component
+public class TestData {
+
+	private final UserRepository userRepository;
+	private final CohortRepository cohortRepository;
+	private final StudentRepository studentRepository;
+
+	public TestData(UserRepository userRepository, CohortRepository cohortRepository, StudentRepository studentRepository) {
+		this.userRepository = userRepository;
+		this.cohortRepository = cohortRepository;
+		this.studentRepository = studentRepository;
+	}
+
+	public User admin(String email) {
+		return user(email, Role.ADMIN);
+	}
+
+	public User user(String email, Role role) {
+		return userRepository.save(User.builder()
+				.fullName(email)
+				.email(email)
+				.password("{noop}unused")
+				.role(role)
+				.build());
+	}
+
+	public Cohort cohort(String name, User owner) {
+		return cohortRepository.save(Cohort.builder()
+				.cohortName(name)
+				.startDate(LocalDate.of(2025, 1, 1))
+				.facilitator(owner)
+				.createdBy(owner)
+				.build());
+	}
+
+	// An active student at 10% progress
+	public Student student(String email, Cohort cohort, User createdBy) {
+		return student(email, cohort, createdBy, UnaryOperator.identity());
+	}
+
+	// The defaults above with the given changes, e.g. student -> student.progress(95)
+	public Student student(String email, Cohort cohort, User createdBy, UnaryOperator<Student.StudentBuilder> changes) {
+		return studentRepository.save(changes.apply(Student.builder()
+						.fullNames("Test student")
+						.emailAddress(email)
+						.cohort(cohort)
+						.progress(10)
+						.status(StudentStatus.ACTIVE)
+						.createdBy(createdBy))
+				.build());
+	}
+}
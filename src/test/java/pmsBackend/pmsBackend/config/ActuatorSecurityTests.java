@@ -0,0 +1,79 @@
+package pmsBackend.pmsBackend.config;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import pmsBackend.pmsBackend.entity.Role;
+import pmsBackend.pmsBackend.entity.User;
+import pmsBackend.pmsBackend.repository.UserRepository;
+import pmsBackend.pmsBackend.security.JwtService;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class ActuatorSecurityTests {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@Autowired
+	private JwtService jwtService;
+
+	private User admin;
+	private User client;
+
+	@BeforeAll
+	void seed() {
+		admin = user("actuator-admin@pms.test", Role.ADMIN);
+		// What anyone gets from /api/auth/register
+		client = user("actuator-client@pms.test", Role.CLIENT);
+	}
+
+	@Test
+	void healthIsOpen() throws Exception {
+		mockMvc.perform(get("/actuator/health"))
+				.andExpect(status().isOk());
+	}
+
+	@Test
+	void metricsAreForAdminsOnly() throws Exception {
+		mockMvc.perform(get("/actuator/metrics"))
+				.andExpect(status().isForbidden());
+		mockMvc.perform(get("/actuator/metrics").header("Authorization", bearer(client)))
+				.andExpect(status().isForbidden());
+		mockMvc.perform(get("/actuator/metrics").header("Authorization", bearer(admin)))
+				.andExpect(status().isOk());
+	}
+
+	@Test
+	void cachesCannotBeClearedOverHttp() throws Exception {
+		mockMvc.perform(delete("/actuator/caches").header("Authorization", bearer(client)))
+				.andExpect(status().isForbidden());
+		mockMvc.perform(delete("/actuator/caches").header("Authorization", bearer(admin)))
+				.andExpect(status().isNotFound());
+	}
+
+	private User user(String email, Role role) {
+		return userRepository.save(User.builder()
+				.fullName("Actuator " + role.name().toLowerCase())
+				.email(email)
+				.password("{noop}unused")
+				.role(role)
+				.build());
+	}
+
+	private String bearer(User user) {
+		return "Bearer " + jwtService.generateToken(user);
+	}
+}
@@ -0,0 +1,39 @@
+package pmsBackend.pmsBackend.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// With a floor of 4 and no ceiling to speak of, calibrating against 50 ms always lands above the floor,
+// so an encoder at exactly 4 shows the probe was skipped
+class PasswordEncoderStartupTests {
+
+	@Test
+	void fixedStrengthIsUsedAsIs() {
+		assertThat(encoder(5, "").encode("x")).startsWith("{bcrypt}$2a$05$");
+	}
+
+	@Test
+	void trainingRunSkipsCalibration() {
+		assertThat(encoder(0, "onRefresh").encode("x")).startsWith("{bcrypt}$2a$04$");
+	}
+
+	@Test
+	void otherwiseTheStrengthIsCalibrated() {
+		assertThat(encoder(0, "").encode("x")).doesNotStartWith("{bcrypt}$2a$04$");
+	}
+
+	private static PasswordEncoder encoder(int strength, String contextExit) {
+		ApplicationConfig config = new ApplicationConfig(null);
+		ReflectionTestUtils.setField(config, "bcryptStrength", strength);
+		ReflectionTestUtils.setField(config, "bcryptTargetVerifyTime", Duration.ofMillis(50));
+		ReflectionTestUtils.setField(config, "bcryptMinStrength", 4);
+		ReflectionTestUtils.setField(config, "bcryptMaxStrength", 31);
+		ReflectionTestUtils.setField(config, "contextExit", contextExit);
+		return config.passwordEncoder();
+	}
+}
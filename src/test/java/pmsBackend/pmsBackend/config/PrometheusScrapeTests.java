@@ -0,0 +1,54 @@
+package pmsBackend.pmsBackend.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalManagementPort;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Real servers on both ports: the management server is a separate context that MockMvc cannot reach.
+// Metrics export is off in tests unless asked for.
+@AutoConfigureObservability
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+		properties = "management.server.port=0")
+class PrometheusScrapeTests {
+
+	@LocalServerPort
+	private int serverPort;
+
+	@LocalManagementPort
+	private int managementPort;
+
+	private final HttpClient client = HttpClient.newHttpClient();
+
+	@Test
+	void scrapeIsOpenOnTheManagementPort() throws Exception {
+		HttpResponse<String> response = get(managementPort, "/actuator/prometheus");
+
+		assertThat(response.statusCode()).isEqualTo(200);
+		assertThat(response.body()).contains("http_server_requests");
+	}
+
+	@Test
+	void otherEndpointsOnTheManagementPortStillNeedAnAdmin() throws Exception {
+		assertThat(get(managementPort, "/actuator/metrics").statusCode()).isEqualTo(403);
+		assertThat(get(managementPort, "/actuator/health").statusCode()).isEqualTo(200);
+	}
+
+	@Test
+	void actuatorIsNotServedOnTheApplicationPort() throws Exception {
+		assertThat(get(serverPort, "/actuator/prometheus").statusCode()).isEqualTo(403);
+	}
+
+	private HttpResponse<String> get(int port, String path) throws Exception {
+		return client.send(HttpRequest.newBuilder(URI.create("http://localhost:" + port + path)).build(),
+				HttpResponse.BodyHandlers.ofString());
+	}
+}
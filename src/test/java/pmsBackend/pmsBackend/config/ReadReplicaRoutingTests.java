@@ -0,0 +1,177 @@
+package pmsBackend.pmsBackend.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import pmsBackend.pmsBackend.TestData;
+import pmsBackend.pmsBackend.dto.CohortResponseDTO;
+import pmsBackend.pmsBackend.dto.CursorPageResponseDTO;
+import pmsBackend.pmsBackend.dto.StudentRequestDTO;
+import pmsBackend.pmsBackend.dto.StudentResponseDTO;
+import pmsBackend.pmsBackend.dto.StudentSort;
+import pmsBackend.pmsBackend.entity.Cohort;
+import pmsBackend.pmsBackend.entity.StudentStatus;
+import pmsBackend.pmsBackend.entity.User;
+import pmsBackend.pmsBackend.repository.DataVersion;
+import pmsBackend.pmsBackend.service.StudentService;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Two in-memory H2 databases stand in for the primary and its replica. "Replication" is a copy of
+// the primary taken before each test; the tests then change the replica alone, so every read shows
+// which database answered it.
+@SpringBootTest(properties = {
+		"spring.datasource.url=jdbc:h2:mem:rw-primary;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH;DB_CLOSE_DELAY=-1",
+		"pms.datasource.replica.enabled=true",
+		"pms.datasource.replica.url=jdbc:h2:mem:rw-replica;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH;DB_CLOSE_DELAY=-1",
+		"pms.datasource.replica.lag-query=select lag_seconds from replica_lag",
+		"pms.datasource.replica.lag-check-interval=3600000",
+		"pms.datasource.replica.max-lag=5s",
+		"pms.datasource.replica.primary-only-transactions=pmsBackend.pmsBackend.service.CohortService."
+})
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class ReadReplicaRoutingTests {
+
+	@Autowired
+	private HikariDataSource primaryDataSource;
+
+	@Autowired
+	private HikariDataSource replicaDataSource;
+
+	@Autowired
+	private ReplicaLagMonitor replicaLagMonitor;
+
+	@Autowired
+	private StudentService studentService;
+
+	@Autowired
+	private MeterRegistry meterRegistry;
+
+	@Autowired
+	private CacheManager cacheManager;
+
+	@Autowired
+	private TestData testData;
+
+	private JdbcTemplate primary;
+	private JdbcTemplate replica;
+	private User admin;
+	private Long cohortId;
+	private Long studentId;
+
+	@BeforeAll
+	void seed() {
+		primary = new JdbcTemplate(primaryDataSource);
+		replica = new JdbcTemplate(replicaDataSource);
+		admin = testData.admin("replica-admin@pms.test");
+		Cohort cohort = testData.cohort("Replica cohort", admin);
+		cohortId = cohort.getId();
+		studentId = testData.student("replica-student@pms.test", cohort, admin,
+				student -> student.fullNames("Primary name")).getId();
+	}
+
+	@BeforeEach
+	void replicate() {
+		List<String> script = primary.queryForList("script drop", String.class);
+		replica.execute("drop all objects");
+		script.forEach(replica::execute);
+		replica.execute("create table replica_lag (lag_seconds double precision)");
+		replica.update("insert into replica_lag values (0)");
+		replica.update("update students set full_names = 'Replica name' where id = ?", studentId);
+		replicaLagMonitor.refresh();
+		cacheManager.getCacheNames().forEach(name -> cacheManager.getCache(name).clear());
+	}
+
+	@AfterEach
+	void clearUser() {
+		SecurityContextHolder.clearContext();
+	}
+
+	@Test
+	void readOnlyTransactionsUseTheReplica() {
+		assertThat(replicaLagMonitor.isUsable()).isTrue();
+		assertThat(studentService.getStudentById(studentId).getFullNames()).isEqualTo("Replica name");
+
+		assertThat(meterRegistry.get("datasource.routing").tag("target", "replica").counter().count()).isPositive();
+		assertThat(meterRegistry.get("hikaricp.connections.max").tag("pool", "primary").gauge()).isNotNull();
+		assertThat(meterRegistry.get("hikaricp.connections.max").tag("pool", "replica").gauge()).isNotNull();
+	}
+
+	@Test
+	void writesGoToThePrimaryAndTheWriterReadsThemBack() {
+		signIn(admin.getEmail());
+		studentService.updateStudent(studentId, StudentRequestDTO.builder()
+				.fullNames("Updated name")
+				.emailAddress("replica-student@pms.test")
+				.cohortId(cohortId)
+				.progress(20)
+				.status(StudentStatus.ACTIVE)
+				.build(), admin.getId());
+
+		assertThat(primary.queryForObject("select full_names from students where id = ?", String.class, studentId))
+				.isEqualTo("Updated name");
+		assertThat(studentService.getStudentById(studentId).getFullNames()).isEqualTo("Updated name");
+
+		// Anyone else reads the replica, which has not caught up
+		signIn("someone-else@pms.test");
+		assertThat(studentService.getStudentById(studentId).getFullNames()).isEqualTo("Replica name");
+	}
+
+	@Test
+	void readsFallBackToThePrimaryWhileTheReplicaLags() {
+		replica.update("update replica_lag set lag_seconds = 60");
+		replicaLagMonitor.refresh();
+		assertThat(replicaLagMonitor.isUsable()).isFalse();
+		assertThat(studentService.getStudentById(studentId).getFullNames()).isNotEqualTo("Replica name");
+
+		replica.update("update replica_lag set lag_seconds = 0.5");
+		replicaLagMonitor.refresh();
+		assertThat(studentService.getStudentById(studentId).getFullNames()).isEqualTo("Replica name");
+	}
+
+	@Test
+	void readsFallBackToThePrimaryWhenTheReplicaCannotBeChecked() {
+		replica.execute("drop table replica_lag");
+		replicaLagMonitor.refresh();
+		assertThat(replicaLagMonitor.isUsable()).isFalse();
+		assertThat(studentService.getStudentById(studentId).getFullNames()).isNotEqualTo("Replica name");
+	}
+
+	@Test
+	void cohortCachesFilledDuringAReplicaReadAreLoadedFromThePrimary() {
+		replica.update("update cohorts set cohort_name = 'Replica cohort name', updated_at = timestamp '2999-01-01 00:00:00' where id = ?",
+				cohortId);
+
+		CursorPageResponseDTO<StudentResponseDTO> page = studentService.getStudentsPage(
+				null, cohortId, StudentSort.CREATED_AT, Sort.Direction.ASC, null, 10);
+		studentService.getStudentsVersion(null, cohortId, null);
+
+		// The page itself came from the replica, the cohorts embedded in it from the primary
+		assertThat(page.getItems()).singleElement().satisfies(student -> {
+			assertThat(student.getFullNames()).isEqualTo("Replica name");
+			assertThat(student.getCohort().getCohortName()).isEqualTo("Replica cohort");
+		});
+		assertThat(cacheManager.getCache(CacheConfig.COHORTS).get(cohortId, CohortResponseDTO.class).getCohortName())
+				.isEqualTo("Replica cohort");
+		DataVersion version = cacheManager.getCache(CacheConfig.COHORT_LIST).get("version", DataVersion.class);
+		assertThat(version.lastModified().getYear()).isLessThan(2999);
+	}
+
+	private static void signIn(String email) {
+		SecurityContextHolder.getContext().setAuthentication(
+				UsernamePasswordAuthenticationToken.authenticated(email, null, List.of()));
+	}
+}
@@ -0,0 +1,153 @@
+package pmsBackend.pmsBackend.controller;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import pmsBackend.pmsBackend.TestData;
+import pmsBackend.pmsBackend.entity.Cohort;
+import pmsBackend.pmsBackend.entity.Student;
+import pmsBackend.pmsBackend.entity.User;
+import pmsBackend.pmsBackend.security.JwtService;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Conditional GETs through the full filter chain. Every test works on its own cohort, so the
+// student list ETags it compares only move with its own writes.
+@SpringBootTest
+@AutoConfigureMockMvc
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class ETagTests {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private TestData testData;
+
+	@Autowired
+	private JwtService jwtService;
+
+	private User admin;
+	private String token;
+
+	@BeforeAll
+	void seed() {
+		admin = testData.admin("etag-admin@pms.test");
+		token = jwtService.generateToken(admin);
+	}
+
+	@Test
+	void repeatedGetsWithIfNoneMatchAnswer304() throws Exception {
+		Cohort cohort = testData.cohort("ETag repeat cohort", admin);
+		Student student = testData.student("etag-repeat@pms.test", cohort, admin);
+
+		for (String path : new String[]{
+				"/api/students/" + student.getId(),
+				"/api/students?cohortId=" + cohort.getId(),
+				"/api/cohorts/" + cohort.getId(),
+				"/api/cohorts"}) {
+			String eTag = eTag(get(path));
+			mockMvc.perform(authorized(get(path)).header(HttpHeaders.IF_NONE_MATCH, eTag))
+					.andExpect(status().isNotModified())
+					.andExpect(header().string(HttpHeaders.ETAG, eTag));
+		}
+	}
+
+	@Test
+	void studentPutChangesTheETags() throws Exception {
+		Cohort cohort = testData.cohort("ETag put cohort", admin);
+		Student student = testData.student("etag-put@pms.test", cohort, admin);
+		String single = eTag(get("/api/students/" + student.getId()));
+		String list = eTag(get("/api/students").param("cohortId", cohort.getId().toString()));
+
+		mockMvc.perform(authorized(put("/api/students/" + student.getId())
+						.contentType(MediaType.APPLICATION_JSON)
+						.content("{\"fullNames\":\"Renamed student\",\"emailAddress\":\"etag-put@pms.test\","
+								+ "\"cohortId\":" + cohort.getId() + ",\"progress\":60,\"status\":\"ACTIVE\"}")))
+				.andExpect(status().isOk());
+
+		assertThat(eTag(get("/api/students/" + student.getId()))).isNotEqualTo(single);
+		assertThat(eTag(get("/api/students").param("cohortId", cohort.getId().toString()))).isNotEqualTo(list);
+	}
+
+	@Test
+	void bulkPatchChangesTheETags() throws Exception {
+		// The bulk UPDATE bypasses @UpdateTimestamp and sets lastUpdated itself
+		Cohort cohort = testData.cohort("ETag bulk cohort", admin);
+		Student student = testData.student("etag-bulk@pms.test", cohort, admin);
+		String single = eTag(get("/api/students/" + student.getId()));
+		String list = eTag(get("/api/students").param("cohortId", cohort.getId().toString()));
+
+		mockMvc.perform(authorized(patch("/api/students/bulk")
+						.contentType(MediaType.APPLICATION_JSON)
+						.content("{\"selection\":{\"cohortId\":" + cohort.getId() + "},\"patch\":{\"progressDelta\":5}}")))
+				.andExpect(status().isOk());
+
+		assertThat(eTag(get("/api/students/" + student.getId()))).isNotEqualTo(single);
+		assertThat(eTag(get("/api/students").param("cohortId", cohort.getId().toString()))).isNotEqualTo(list);
+	}
+
+	@Test
+	void cohortRenameChangesTheCohortAndStudentETags() throws Exception {
+		// Student responses embed the cohort, so its name is part of their representation
+		Cohort cohort = testData.cohort("ETag rename cohort", admin);
+		Student student = testData.student("etag-rename@pms.test", cohort, admin);
+		String cohortETag = eTag(get("/api/cohorts/" + cohort.getId()));
+		String cohortsETag = eTag(get("/api/cohorts"));
+		String studentETag = eTag(get("/api/students/" + student.getId()));
+		String listETag = eTag(get("/api/students").param("cohortId", cohort.getId().toString()));
+
+		mockMvc.perform(authorized(put("/api/cohorts/" + cohort.getId())
+						.contentType(MediaType.APPLICATION_JSON)
+						.content("{\"cohortName\":\"ETag renamed cohort\",\"startDate\":\"2025-01-01\","
+								+ "\"facilitatorId\":" + admin.getId() + "}")))
+				.andExpect(status().isOk());
+
+		assertThat(eTag(get("/api/cohorts/" + cohort.getId()))).isNotEqualTo(cohortETag);
+		assertThat(eTag(get("/api/cohorts"))).isNotEqualTo(cohortsETag);
+		assertThat(eTag(get("/api/students/" + student.getId()))).isNotEqualTo(studentETag);
+		assertThat(eTag(get("/api/students").param("cohortId", cohort.getId().toString()))).isNotEqualTo(listETag);
+	}
+
+	@Test
+	void sparseFieldsetsHaveTheirOwnETags() throws Exception {
+		Cohort cohort = testData.cohort("ETag fields cohort", admin);
+		Student student = testData.student("etag-fields@pms.test", cohort, admin);
+
+		String full = eTag(get("/api/students/" + student.getId()));
+		String sparse = eTag(get("/api/students/" + student.getId()).param("fields", "fullNames"));
+		assertThat(sparse).isNotEqualTo(full);
+		assertThat(eTag(get("/api/students/" + student.getId()).param("fields", "status"))).isNotEqualTo(sparse);
+		assertThat(eTag(get("/api/cohorts/" + cohort.getId()).param("fields", "cohortName")))
+				.isNotEqualTo(eTag(get("/api/cohorts/" + cohort.getId())));
+
+		// The full representation's ETag must not validate a sparse one
+		mockMvc.perform(authorized(get("/api/students/" + student.getId()).param("fields", "fullNames"))
+						.header(HttpHeaders.IF_NONE_MATCH, full))
+				.andExpect(status().isOk());
+	}
+
+	private String eTag(MockHttpServletRequestBuilder request) throws Exception {
+		String eTag = mockMvc.perform(authorized(request))
+				.andExpect(status().isOk())
+				.andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+		assertThat(eTag).isNotBlank();
+		return eTag;
+	}
+
+	private MockHttpServletRequestBuilder authorized(MockHttpServletRequestBuilder request) {
+		return request.header("Authorization", "Bearer " + token);
+	}
+}
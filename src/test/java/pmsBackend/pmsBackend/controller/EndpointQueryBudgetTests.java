@@ -0,0 +1,251 @@
+package pmsBackend.pmsBackend.controller;
+
+import com.jayway.jsonpath.JsonPath;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import pmsBackend.pmsBackend.config.JdbcStatementCounter;
+import pmsBackend.pmsBackend.entity.Cohort;
+import pmsBackend.pmsBackend.entity.Role;
+import pmsBackend.pmsBackend.entity.Student;
+import pmsBackend.pmsBackend.entity.StudentStatus;
+import pmsBackend.pmsBackend.entity.User;
+import pmsBackend.pmsBackend.repository.CohortRepository;
+import pmsBackend.pmsBackend.repository.StudentRepository;
+import pmsBackend.pmsBackend.repository.UserRepository;
+import pmsBackend.pmsBackend.security.JwtService;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.hasSize;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+import static pmsBackend.pmsBackend.QueryBudget.assertAtMost;
+
+// Per-endpoint SQL statement budgets, measured in the steady state (caches warm) through the full
+// filter chain. The data gives every cohort and student distinct related users, so touching a lazy
+// association per row shows up as extra statements and fails the build.
+@SpringBootTest
+@AutoConfigureMockMvc
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class EndpointQueryBudgetTests {
+
+	private static final int COHORTS = 3;
+	private static final int STUDENTS_PER_COHORT = 10;
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@Autowired
+	private CohortRepository cohortRepository;
+
+	@Autowired
+	private StudentRepository studentRepository;
+
+	@Autowired
+	private JwtService jwtService;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	private String token;
+	private Long cohortId;
+	private Long rosterCohortId; // not touched by the update tests
+	private Long studentId;
+
+	@BeforeAll
+	void seed() {
+		User admin = userRepository.save(user("budget-admin@pms.test", Role.ADMIN));
+		List<Student> students = new ArrayList<>();
+		for (int c = 0; c < COHORTS; c++) {
+			User facilitator = userRepository.save(user("budget-facilitator" + c + "@pms.test", Role.FACILITATOR));
+			User creator = userRepository.save(user("budget-creator" + c + "@pms.test", Role.FACILITATOR));
+			Cohort cohort = cohortRepository.save(Cohort.builder()
+					.cohortName("Budget cohort " + c)
+					.startDate(LocalDate.of(2025, 1, 1))
+					.facilitator(facilitator)
+					.createdBy(admin)
+					.build());
+			cohortId = cohort.getId();
+			if (c == 1) {
+				rosterCohortId = cohort.getId();
+			}
+			for (int s = 0; s < STUDENTS_PER_COHORT; s++) {
+				students.add(Student.builder()
+						.fullNames("Budget student " + c + "-" + s)
+						.emailAddress("budget-student" + c + "-" + s + "@pms.test")
+						.cohort(cohort)
+						.progress(s)
+						.status(StudentStatus.ACTIVE)
+						.createdBy(s % 2 == 0 ? admin : creator)
+						.build());
+			}
+		}
+		studentId = studentRepository.saveAll(students).get(0).getId();
+		token = jwtService.generateToken(admin);
+	}
+
+	@BeforeEach
+	void warmCaches() throws Exception {
+		// Principal and cohort caches filled, as they are for a running server
+		mockMvc.perform(authorized(get("/api/students").param("size", "100"))).andExpect(status().isOk());
+		mockMvc.perform(authorized(get("/api/cohorts"))).andExpect(status().isOk());
+	}
+
+	@Test
+	void studentListRunsVersionAndPageQueries() throws Exception {
+		assertBudget(2, get("/api/students").param("size", "100"));
+		assertBudget(2, get("/api/students").param("cohortId", cohortId.toString()).param("sort", "fullNames"));
+	}
+
+	@Test
+	void studentReadRunsVersionAndLoadQueries() throws Exception {
+		assertBudget(2, get("/api/students/" + studentId));
+	}
+
+	@Test
+	void sparseStudentReadsSelectOnlyTheRequestedColumns() throws Exception {
+		JdbcStatementCounter.Scope statements = JdbcStatementCounter.open(true);
+		try {
+			mockMvc.perform(authorized(get("/api/students").param("fields", "fullNames,status,progress").param("size", "5")))
+					.andExpect(status().isOk())
+					.andExpect(jsonPath("$.items[0].*", hasSize(4))) // id is always included
+					.andExpect(jsonPath("$.items[0].fullNames").exists())
+					.andExpect(jsonPath("$.items[0].cohort").doesNotExist())
+					.andExpect(jsonPath("$.nextCursor").exists());
+			mockMvc.perform(authorized(get("/api/students/" + studentId).param("fields", "emailAddress")))
+					.andExpect(status().isOk())
+					.andExpect(jsonPath("$.*", hasSize(2)));
+		} finally {
+			statements.close();
+		}
+		// Version and page queries only, and neither joins the creators
+		assertThat(statements.count()).isEqualTo(4);
+		assertThat(statements.repeatedShapes(0).keySet()).noneMatch(sql -> sql.contains(" users "));
+	}
+
+	@Test
+	void sparseStudentReadsExpandOnRequest() throws Exception {
+		assertBudget(2, get("/api/students").param("fields", "fullNames").param("expand", "cohort,createdBy"));
+		mockMvc.perform(authorized(get("/api/students/" + studentId).param("fields", "fullNames").param("expand", "createdBy")))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.createdBy.role").value("ADMIN"))
+				.andExpect(jsonPath("$.cohort").doesNotExist());
+		mockMvc.perform(authorized(get("/api/students").param("fields", "fullNames,password")))
+				.andExpect(status().isBadRequest());
+	}
+
+	@Test
+	void sparseCohortReadsTrimTheCachedResponse() throws Exception {
+		assertBudget(0, get("/api/cohorts").param("fields", "cohortName"));
+		mockMvc.perform(authorized(get("/api/cohorts/" + cohortId).param("fields", "cohortName").param("expand", "facilitator")))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.*", hasSize(3)))
+				.andExpect(jsonPath("$.facilitator.email").exists());
+	}
+
+	@Test
+	void studentUpdateLoadsOnceAndUpdatesOnce() throws Exception {
+		assertBudget(2, put("/api/students/" + studentId)
+				.contentType(MediaType.APPLICATION_JSON)
+				.content("{\"fullNames\":\"Budget student\",\"emailAddress\":\"budget-student0-0@pms.test\","
+						+ "\"cohortId\":" + cohortId + ",\"progress\":50,\"status\":\"ACTIVE\"}"));
+	}
+
+	@Test
+	void bulkUpdateRunsOneStatement() throws Exception {
+		assertBudget(1, patch("/api/students/bulk")
+				.contentType(MediaType.APPLICATION_JSON)
+				.content("{\"selection\":{\"cohortId\":" + cohortId + "},\"patch\":{\"progressDelta\":1}}"));
+	}
+
+	@Test
+	void cachedCohortReadsRunNoStatements() throws Exception {
+		assertBudget(0, get("/api/cohorts"));
+		assertBudget(0, get("/api/cohorts/" + cohortId));
+	}
+
+	@Test
+	void cohortStatsRunOneAggregate() throws Exception {
+		assertBudget(1, get("/api/cohorts/stats"));
+		assertBudget(1, get("/api/cohorts/" + cohortId + "/stats"));
+	}
+
+	@Test
+	void cohortRosterRunsOneProjectionQuery() throws Exception {
+		JdbcStatementCounter.Scope statements = JdbcStatementCounter.open(true);
+		String cursor;
+		try {
+			cursor = JsonPath.read(mockMvc.perform(authorized(get("/api/cohorts/" + rosterCohortId + "/students")
+							.param("sort", "progress").param("direction", "desc").param("size", "3")))
+					.andExpect(status().isOk())
+					.andExpect(jsonPath("$.items[0].*", hasSize(4)))
+					.andExpect(jsonPath("$.items[*].progress", contains(9, 8, 7)))
+					.andReturn().getResponse().getContentAsString(), "$.nextCursor");
+		} finally {
+			statements.close();
+		}
+		assertThat(statements.count()).isEqualTo(1);
+		assertThat(statements.repeatedShapes(0).keySet()).noneMatch(sql -> sql.contains(" users ") || sql.contains(" cohorts "));
+
+		assertBudget(1, get("/api/cohorts/" + rosterCohortId + "/students").param("cursor", cursor));
+		mockMvc.perform(authorized(get("/api/cohorts/" + rosterCohortId + "/students").param("cursor", cursor).param("size", "3")))
+				.andExpect(jsonPath("$.items[*].progress", contains(6, 5, 4)));
+		mockMvc.perform(authorized(get("/api/cohorts/" + rosterCohortId + "/students").param("status", "GRADUATED")))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.items", hasSize(0)));
+		mockMvc.perform(authorized(get("/api/cohorts/" + rosterCohortId + "/students").param("sort", "createdAt")))
+				.andExpect(status().isBadRequest());
+		mockMvc.perform(authorized(get("/api/cohorts/0/students")))
+				.andExpect(status().isNotFound());
+	}
+
+	@Test
+	void lazyAssociationInALoopBreaksTheBudget() {
+		// What the budget exists to catch: one select per distinct creator, repeated with the data
+		TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+		assertThatThrownBy(() -> assertAtMost(2, () -> transaction.execute(tx -> studentRepository.findAll().stream()
+				.map(student -> student.getCreatedBy().getFullName())
+				.toList())))
+				.isInstanceOf(AssertionError.class)
+				.hasMessageContaining("from users");
+	}
+
+	private void assertBudget(int maxStatements, MockHttpServletRequestBuilder request) throws Exception {
+		assertAtMost(maxStatements, () -> mockMvc.perform(authorized(request)).andExpect(status().is2xxSuccessful()));
+	}
+
+	private RequestBuilder authorized(MockHttpServletRequestBuilder request) {
+		return request.header("Authorization", "Bearer " + token);
+	}
+
+	private static User user(String email, Role role) {
+		return User.builder()
+				.fullName(email)
+				.email(email)
+				.password("{noop}unused")
+				.role(role)
+				.build();
+	}
+}
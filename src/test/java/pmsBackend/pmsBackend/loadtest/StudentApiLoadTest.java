@@ -0,0 +1,362 @@
+package pmsBackend.pmsBackend.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// End-to-end load test: boots the application on a random port against an in-memory H2 database,
+// bulk-loads a synthetic dataset and drives a weighted mix of real HTTP requests from concurrent
+// clients, then reports throughput and p50/p95/p99 latency per endpoint (also written as CSV to
+// loadtest.report). Excluded from the regular build; run it with
+//   mvn -Ploadtest test [-Dloadtest.students=1000000 -Dloadtest.clients=64 -Dloadtest.duration=120]
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+		"spring.datasource.url=jdbc:h2:mem:loadtest;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH;DB_CLOSE_DELAY=-1",
+		"logging.level.root=WARN"
+})
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class StudentApiLoadTest {
+
+	// 100,000 by default so a plain run stays short; pass
+	// -Dloadtest.students=1000000 (and a larger loadtest.heap) for the million-row dataset
+	private static final int STUDENTS = Integer.getInteger("loadtest.students", 100_000);
+	private static final int COHORTS = Integer.getInteger("loadtest.cohorts", 200);
+	private static final int FACILITATORS = Integer.getInteger("loadtest.facilitators", 50);
+	private static final int CLIENTS = Integer.getInteger("loadtest.clients", 32);
+	private static final long WARMUP_SECONDS = Long.getLong("loadtest.warmup", 10);
+	private static final long DURATION_SECONDS = Long.getLong("loadtest.duration", 30);
+	private static final String REPORT = System.getProperty("loadtest.report", "target/loadtest-report.csv");
+	private static final double MAX_ERROR_RATE = 0.01;
+
+	// Weights are relative; reads dominate, as in normal use of the dashboard
+	enum Endpoint {
+		LOGIN("POST /api/auth/login", 5),
+		LIST_STUDENTS("GET /api/students", 30),
+		GET_STUDENT("GET /api/students/{id}", 30),
+		UPDATE_STUDENT("PUT /api/students/{id}", 10),
+		LIST_COHORTS("GET /api/cohorts", 10),
+		GET_COHORT("GET /api/cohorts/{id}", 10),
+		COHORT_STATS("GET /api/cohorts/{id}/stats", 5);
+
+		final String label;
+		final int weight;
+
+		Endpoint(String label, int weight) {
+			this.label = label;
+			this.weight = weight;
+		}
+	}
+
+	private static final int TOTAL_WEIGHT = Arrays.stream(Endpoint.values()).mapToInt(e -> e.weight).sum();
+
+	@LocalServerPort
+	private int port;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Autowired
+	private PasswordEncoder passwordEncoder;
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	private final HttpClient http = HttpClient.newBuilder()
+			.version(HttpClient.Version.HTTP_1_1)
+			.connectTimeout(Duration.ofSeconds(5))
+			.build();
+
+	private final Map<Endpoint, LatencyRecorder> recorders = new EnumMap<>(Endpoint.class);
+
+	private SyntheticDataset dataset;
+
+	private volatile boolean measuring;
+
+	private volatile boolean running = true;
+
+	@BeforeAll
+	void loadDataset() {
+		long start = System.nanoTime();
+		dataset = SyntheticDataset.load(jdbcTemplate, passwordEncoder, FACILITATORS, COHORTS, STUDENTS);
+		System.out.printf("Loaded %d students in %d cohorts (%d facilitators) in %.1f s%n",
+				STUDENTS, COHORTS, FACILITATORS, (System.nanoTime() - start) / 1e9);
+		for (Endpoint endpoint : Endpoint.values()) {
+			recorders.put(endpoint, new LatencyRecorder());
+		}
+	}
+
+
+	@Test
+	void mixedTraffic() throws Exception {
+		// A closed loop: each of the CLIENTS threads keeps exactly one request in flight, so the offered
+		// concurrency is fixed and comparable between runs. The clients are a few long-lived loops
+		// blocked on I/O, which virtual threads would not make any cheaper.
+		ExecutorService clients = Executors.newFixedThreadPool(CLIENTS);
+		for (int c = 0; c < CLIENTS; c++) {
+			String email = dataset.facilitatorEmails().get(c % dataset.facilitatorEmails().size());
+			clients.submit(() -> runClient(email));
+		}
+
+		TimeUnit.SECONDS.sleep(WARMUP_SECONDS);
+		measuring = true;
+		long start = System.nanoTime();
+		TimeUnit.SECONDS.sleep(DURATION_SECONDS);
+		measuring = false;
+		double elapsedSeconds = (System.nanoTime() - start) / 1e9;
+		running = false;
+		clients.shutdown();
+		assertThat(clients.awaitTermination(1, TimeUnit.MINUTES)).isTrue();
+
+		report(elapsedSeconds);
+
+		long requests = recorders.values().stream().mapToLong(LatencyRecorder::count).sum();
+		long errors = recorders.values().stream().mapToLong(LatencyRecorder::errors).sum();
+		assertThat(requests).isPositive();
+		assertThat((double) errors / requests).isLessThanOrEqualTo(MAX_ERROR_RATE);
+	}
+
+
+	// One simulated user: logs in, then issues weighted random requests back to back
+	private void runClient(String email) {
+		ClientState state = new ClientState(email);
+		while (running && state.token == null) {
+			execute(state, Endpoint.LOGIN);
+		}
+		while (running) {
+			execute(state, pick());
+		}
+	}
+
+
+	private void execute(ClientState state, Endpoint endpoint) {
+		ThreadLocalRandom random = ThreadLocalRandom.current();
+		long studentId = 1 + random.nextLong(dataset.students());
+		long cohortId = dataset.cohortIds().get(random.nextInt(dataset.cohortIds().size()));
+		HttpRequest request = switch (endpoint) {
+			case LOGIN -> post("/api/auth/login", Map.of("email", state.email, "password", dataset.password()));
+			case LIST_STUDENTS -> get("/api/students?size=20" + listFilter(state, cohortId));
+			case GET_STUDENT -> get("/api/students/" + studentId);
+			case UPDATE_STUDENT -> put("/api/students/" + studentId, Map.of(
+					"fullNames", "Student " + studentId,
+					"emailAddress", SyntheticDataset.studentEmail(studentId),
+					"cohortId", cohortId,
+					"progress", random.nextInt(101),
+					"status", "ACTIVE"));
+			case LIST_COHORTS -> get("/api/cohorts");
+			case GET_COHORT -> get("/api/cohorts/" + cohortId);
+			case COHORT_STATS -> get("/api/cohorts/" + cohortId + "/stats");
+		};
+		if (endpoint != Endpoint.LOGIN) {
+			request = HttpRequest.newBuilder(request, (name, value) -> true)
+					.header("Authorization", "Bearer " + state.token)
+					.build();
+		}
+
+		long start = System.nanoTime();
+		boolean ok;
+		String body = null;
+		try {
+			HttpResponse<String> response = http.send(request, HttpResponse.BodyHandlers.ofString());
+			ok = response.statusCode() < 400;
+			body = response.body();
+		} catch (IOException e) {
+			ok = false;
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			running = false;
+			return;
+		}
+		if (measuring) {
+			recorders.get(endpoint).record(System.nanoTime() - start, ok);
+		}
+
+		if (ok && endpoint == Endpoint.LOGIN) {
+			state.token = body;
+		} else if (ok && endpoint == Endpoint.LIST_STUDENTS) {
+			state.nextCursor = nextCursor(body);
+		}
+	}
+
+
+	// Half the list requests page on from the previous one, the rest start over with a random filter
+	private String listFilter(ClientState state, long cohortId) {
+		ThreadLocalRandom random = ThreadLocalRandom.current();
+		if (state.nextCursor != null && random.nextBoolean()) {
+			return state.listQuery + "&cursor=" + URLEncoder.encode(state.nextCursor, StandardCharsets.UTF_8);
+		}
+		state.listQuery = switch (random.nextInt(3)) {
+			case 0 -> "";
+			case 1 -> "&cohortId=" + cohortId;
+			default -> "&status=ACTIVE&sort=fullNames";
+		};
+		return state.listQuery;
+	}
+
+
+	private String nextCursor(String body) {
+		try {
+			JsonNode cursor = objectMapper.readTree(body).get("nextCursor");
+			return cursor == null || cursor.isNull() ? null : cursor.asText();
+		} catch (IOException e) {
+			return null;
+		}
+	}
+
+
+	private Endpoint pick() {
+		int roll = ThreadLocalRandom.current().nextInt(TOTAL_WEIGHT);
+		for (Endpoint endpoint : Endpoint.values()) {
+			roll -= endpoint.weight;
+			if (roll < 0) {
+				return endpoint;
+			}
+		}
+		throw new IllegalStateException();
+	}
+
+
+	private HttpRequest get(String path) {
+		return HttpRequest.newBuilder(uri(path)).GET().build();
+	}
+
+
+	private HttpRequest post(String path, Object body) {
+		return HttpRequest.newBuilder(uri(path))
+				.header("Content-Type", "application/json")
+				.POST(HttpRequest.BodyPublishers.ofString(json(body)))
+				.build();
+	}
+
+
+	private HttpRequest put(String path, Object body) {
+		return HttpRequest.newBuilder(uri(path))
+				.header("Content-Type", "application/json")
+				.PUT(HttpRequest.BodyPublishers.ofString(json(body)))
+				.build();
+	}
+
+
+	private URI uri(String path) {
+		return URI.create("http://localhost:" + port + path);
+	}
+
+
+	private String json(Object body) {
+		try {
+			return objectMapper.writeValueAsString(body);
+		} catch (IOException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+
+	private void report(double elapsedSeconds) throws IOException {
+		String header = String.format("%-30s %9s %7s %10s %9s %9s %9s %9s",
+				"endpoint", "requests", "errors", "req/s", "p50 ms", "p95 ms", "p99 ms", "max ms");
+		StringBuilder table = new StringBuilder()
+				.append(String.format("%nLoad test: %d students, %d clients, %.0f s measured after %d s warm-up%n",
+						STUDENTS, CLIENTS, elapsedSeconds, WARMUP_SECONDS))
+				.append(header).append('\n');
+		Path reportPath = Path.of(REPORT);
+		Files.createDirectories(reportPath.toAbsolutePath().getParent());
+		try (PrintWriter csv = new PrintWriter(Files.newBufferedWriter(reportPath))) {
+			csv.println("endpoint,requests,errors,throughput,p50_ms,p95_ms,p99_ms,max_ms");
+			long total = 0;
+			for (Endpoint endpoint : Endpoint.values()) {
+				LatencyRecorder recorder = recorders.get(endpoint);
+				long[] sorted = recorder.sorted();
+				total += sorted.length;
+				double throughput = sorted.length / elapsedSeconds;
+				table.append(String.format("%-30s %9d %7d %10.1f %9.2f %9.2f %9.2f %9.2f%n", endpoint.label,
+						sorted.length, recorder.errors(), throughput, percentile(sorted, 50), percentile(sorted, 95),
+						percentile(sorted, 99), percentile(sorted, 100)));
+				csv.printf("%s,%d,%d,%.1f,%.2f,%.2f,%.2f,%.2f%n", endpoint.label, sorted.length, recorder.errors(),
+						throughput, percentile(sorted, 50), percentile(sorted, 95), percentile(sorted, 99),
+						percentile(sorted, 100));
+			}
+			table.append(String.format("%-30s %9d %7s %10.1f%n", "total", total, "", total / elapsedSeconds));
+		}
+		System.out.println(table);
+	}
+
+
+	// Nearest-rank percentile in milliseconds
+	private static double percentile(long[] sortedNanos, double percentile) {
+		if (sortedNanos.length == 0) {
+			return 0;
+		}
+		int rank = (int) Math.ceil(percentile / 100 * sortedNanos.length);
+		return sortedNanos[Math.max(rank, 1) - 1] / 1e6;
+	}
+
+
+	private static final class ClientState {
+		private final String email;
+		private String token;
+		private String listQuery = "";
+		private String nextCursor;
+
+		private ClientState(String email) {
+			this.email = email;
+		}
+	}
+
+
+	// Every sample is kept (a run produces at most a few million), so percentiles are exact
+	private static final class LatencyRecorder {
+		private long[] samples = new long[1024];
+		private int count;
+		private long errors;
+
+		synchronized void record(long nanos, boolean ok) {
+			if (count == samples.length) {
+				samples = Arrays.copyOf(samples, count * 2);
+			}
+			samples[count++] = nanos;
+			if (!ok) {
+				errors++;
+			}
+		}
+
+		synchronized long count() {
+			return count;
+		}
+
+		synchronized long errors() {
+			return errors;
+		}
+
+		synchronized long[] sorted() {
+			long[] copy = Arrays.copyOf(samples, count);
+			Arrays.sort(copy);
+			return copy;
+		}
+	}
+}
@@ -0,0 +1,138 @@
+package pmsBackend.pmsBackend.loadtest;
+
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import pmsBackend.pmsBackend.entity.Role;
+import pmsBackend.pmsBackend.entity.StudentStatus;
+
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Random;
+
+// Synthetic users, cohorts and students written straight through JDBC batches (no entities, no
+// per-row flushes), so a million students load in seconds. Every account shares one password,
+// hashed once with the application's encoder.
+record SyntheticDataset(String password, List<String> facilitatorEmails, List<Long> cohortIds, long students) {
+
+	static final String PASSWORD = "load-test-password";
+
+	private static final int BATCH_SIZE = 5000;
+	private static final StudentStatus[] STATUSES = StudentStatus.values();
+	private static final String[] QUALIFICATIONS = {"Matric", "Diploma", "Degree", "Honours", "Masters"};
+
+	static SyntheticDataset load(JdbcTemplate jdbc, PasswordEncoder passwordEncoder,
+			int facilitators, int cohorts, int students) {
+		Random random = new Random(42); // same dataset on every run
+		LocalDateTime now = LocalDateTime.now();
+		String hash = passwordEncoder.encode(PASSWORD);
+
+		insertUser(jdbc, "Load Admin", "admin@load.test", hash, Role.ADMIN, now);
+		Long adminId = jdbc.queryForObject("select id from users where email = 'admin@load.test'", Long.class);
+		jdbc.batchUpdate("insert into users (full_name, email, cellphone, password, role, created_at, updated_at) "
+				+ "values (?, ?, ?, ?, ?, ?, ?)", new BatchPreparedStatementSetter() {
+			@Override
+			public void setValues(PreparedStatement ps, int i) throws SQLException {
+				ps.setString(1, "Facilitator " + i);
+				ps.setString(2, "facilitator" + i + "@load.test");
+				ps.setString(3, phoneNumber(i));
+				ps.setString(4, hash);
+				ps.setString(5, Role.FACILITATOR.name());
+				ps.setTimestamp(6, Timestamp.valueOf(now));
+				ps.setTimestamp(7, Timestamp.valueOf(now));
+			}
+
+			@Override
+			public int getBatchSize() {
+				return facilitators;
+			}
+		});
+		List<String> facilitatorEmails = jdbc.queryForList(
+				"select email from users where role = 'FACILITATOR' order by id", String.class);
+		List<Long> facilitatorIds = jdbc.queryForList(
+				"select id from users where role = 'FACILITATOR' order by id", Long.class);
+
+		jdbc.batchUpdate("insert into cohorts (cohort_name, duration, start_date, facilitator_user_id, "
+				+ "created_by_user_id, created_at, updated_at) values (?, ?, ?, ?, ?, ?, ?)", new BatchPreparedStatementSetter() {
+			@Override
+			public void setValues(PreparedStatement ps, int i) throws SQLException {
+				ps.setString(1, "Cohort " + i);
+				ps.setString(2, (3 + i % 10) + " months");
+				ps.setDate(3, Date.valueOf(LocalDate.of(2024, 1, 1).plusWeeks(i % 100)));
+				ps.setLong(4, facilitatorIds.get(i % facilitatorIds.size()));
+				ps.setLong(5, adminId);
+				ps.setTimestamp(6, Timestamp.valueOf(now));
+				ps.setTimestamp(7, Timestamp.valueOf(now));
+			}
+
+			@Override
+			public int getBatchSize() {
+				return cohorts;
+			}
+		});
+		List<Long> cohortIds = jdbc.queryForList("select id from cohorts order by id", Long.class);
+
+		String insertStudent = "insert into students (id, full_names, email_address, phone_number, date_of_birth, "
+				+ "home_address, cohort_id, qualification, progress, status, created_by_user_id, last_updated, created_at) "
+				+ "values (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+		for (int from = 1; from <= students; from += BATCH_SIZE) {
+			int first = from;
+			int count = Math.min(BATCH_SIZE, students - from + 1);
+			jdbc.batchUpdate(insertStudent, new BatchPreparedStatementSetter() {
+				@Override
+				public void setValues(PreparedStatement ps, int i) throws SQLException {
+					long id = first + i;
+					// Creation times spread over the past year, so the createdAt sort has realistic keys
+					LocalDateTime createdAt = now.minusMinutes(random.nextInt(525_600));
+					ps.setLong(1, id);
+					ps.setString(2, "Student " + id);
+					ps.setString(3, studentEmail(id));
+					ps.setString(4, phoneNumber(id));
+					ps.setDate(5, Date.valueOf(LocalDate.of(1995, 1, 1).plusDays(random.nextInt(3650))));
+					ps.setString(6, id + " Main Road");
+					ps.setLong(7, cohortIds.get(random.nextInt(cohortIds.size())));
+					ps.setString(8, QUALIFICATIONS[random.nextInt(QUALIFICATIONS.length)]);
+					ps.setInt(9, random.nextInt(101));
+					ps.setString(10, STATUSES[random.nextInt(STATUSES.length)].name());
+					ps.setLong(11, adminId);
+					ps.setTimestamp(12, Timestamp.valueOf(createdAt));
+					ps.setTimestamp(13, Timestamp.valueOf(createdAt));
+				}
+
+				@Override
+				public int getBatchSize() {
+					return count;
+				}
+			});
+		}
+		// Ids were assigned here, so move the sequence past them (and past the pooled optimizer's
+		// block of 50 ids below each sequence value) before the application inserts any student
+		jdbc.execute("alter sequence students_id_seq restart with " + (students + 51));
+		jdbc.execute("analyze");
+
+		return new SyntheticDataset(PASSWORD, facilitatorEmails, cohortIds, students);
+	}
+
+
+	static String studentEmail(long id) {
+		return "student" + id + "@load.test";
+	}
+
+
+	private static String phoneNumber(long n) {
+		return String.format("07%08d", n % 100_000_000);
+	}
+
+
+	private static void insertUser(JdbcTemplate jdbc, String fullName, String email, String hash, Role role,
+			LocalDateTime now) {
+		jdbc.update("insert into users (full_name, email, cellphone, password, role, created_at, updated_at) "
+				+ "values (?, ?, ?, ?, ?, ?, ?)", fullName, email, phoneNumber(0), hash, role.name(),
+				Timestamp.valueOf(now), Timestamp.valueOf(now));
+	}
+}
@@ -0,0 +1,27 @@
+package pmsBackend.pmsBackend.security;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Low strengths keep the probe fast; the bounds logic is the same at production costs
+class BCryptCalibrationTests {
+
+	@Test
+	void targetBelowAnyStrengthFallsBackToTheMinimum() {
+		assertThat(BCryptCalibration.calibrate(Duration.ofNanos(1), 4, 6)).isEqualTo(4);
+	}
+
+	@Test
+	void targetAboveEveryStrengthStopsAtTheMaximum() {
+		assertThat(BCryptCalibration.calibrate(Duration.ofMinutes(1), 4, 6)).isEqualTo(6);
+	}
+
+	@Test
+	void equalBoundsLeaveNothingToCalibrate() {
+		assertThat(BCryptCalibration.calibrate(Duration.ofNanos(1), 5, 5)).isEqualTo(5);
+		assertThat(BCryptCalibration.calibrate(Duration.ofMinutes(1), 5, 5)).isEqualTo(5);
+	}
+}
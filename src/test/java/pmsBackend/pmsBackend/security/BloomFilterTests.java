@@ -0,0 +1,45 @@
+package pmsBackend.pmsBackend.security;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BloomFilterTests {
+
+	@Test
+	void addedKeysAreAlwaysFound() {
+		BloomFilter filter = new BloomFilter(1_000, 0.01);
+		IntStream.range(0, 1_000).forEach(i -> filter.put("key-" + i));
+
+		assertThat(IntStream.range(0, 1_000)).allMatch(i -> filter.mightContain("key-" + i));
+	}
+
+	@Test
+	void emptyFilterContainsNothing() {
+		BloomFilter filter = new BloomFilter(100, 0.01);
+
+		assertThat(filter.mightContain("key")).isFalse();
+		assertThat(filter.mightContain("")).isFalse();
+	}
+
+	@Test
+	void falsePositiveRateStaysNearTheTarget() {
+		BloomFilter filter = new BloomFilter(10_000, 0.01);
+		IntStream.range(0, 10_000).forEach(i -> filter.put("revoked-" + i));
+
+		long falsePositives = IntStream.range(0, 100_000).filter(i -> filter.mightContain("other-" + i)).count();
+
+		// 1% target at full capacity; allow for variance without letting a broken hash pass
+		assertThat(falsePositives).isLessThan(2_000);
+	}
+
+	@Test
+	void degenerateSizingStillWorks() {
+		BloomFilter filter = new BloomFilter(0, 0.5);
+		filter.put("only");
+
+		assertThat(filter.mightContain("only")).isTrue();
+	}
+}
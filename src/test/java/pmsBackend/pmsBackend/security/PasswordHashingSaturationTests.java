@@ -0,0 +1,165 @@
+package pmsBackend.pmsBackend.security;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Primary;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import pmsBackend.pmsBackend.entity.Role;
+import pmsBackend.pmsBackend.entity.User;
+import pmsBackend.pmsBackend.repository.UserRepository;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+
+// One hashing thread with a queue of one. The password encoder blocks until the test opens the gate,
+// so the pool can be held saturated for as long as a test needs.
+@SpringBootTest(properties = {
+		"security.password.hashing.threads=1",
+		"security.password.hashing.queue-capacity=1",
+		"security.password.hashing.timeout=2s",
+		"security.password.hashing.retry-after=7"
+})
+@AutoConfigureMockMvc
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class PasswordHashingSaturationTests {
+
+	private static volatile CountDownLatch gate = new CountDownLatch(0);
+	private static volatile CountDownLatch hashing = new CountDownLatch(0);
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@Autowired
+	private MeterRegistry meterRegistry;
+
+	private final ExecutorService clients = Executors.newFixedThreadPool(2);
+
+	@TestConfiguration
+	static class BlockingEncoderConfig {
+
+		@Bean
+		@Primary
+		PasswordEncoder blockingPasswordEncoder() {
+			return new PasswordEncoder() {
+				@Override
+				public String encode(CharSequence rawPassword) {
+					return "{noop}" + rawPassword;
+				}
+
+				@Override
+				public boolean matches(CharSequence rawPassword, String encodedPassword) {
+					hashing.countDown();
+					try {
+						gate.await();
+					} catch (InterruptedException e) {
+						Thread.currentThread().interrupt();
+					}
+					return encode(rawPassword).equals(encodedPassword);
+				}
+			};
+		}
+	}
+
+	@BeforeAll
+	void seed() {
+		userRepository.save(User.builder()
+				.fullName("Busy user")
+				.email("busy-user@pms.test")
+				.password("{noop}secret")
+				.role(Role.CLIENT)
+				.build());
+	}
+
+	@BeforeEach
+	void closeGate() {
+		gate = new CountDownLatch(1);
+		hashing = new CountDownLatch(1);
+	}
+
+	@AfterEach
+	void openGate() {
+		gate.countDown();
+	}
+
+	@AfterAll
+	void stopClients() {
+		clients.shutdownNow();
+	}
+
+	@Test
+	void fullPoolAndQueueAnswer503WithRetryAfter() throws Exception {
+		Future<MvcResult> running = clients.submit(this::login);
+		assertThat(hashing.await(5, TimeUnit.SECONDS)).isTrue();
+		Future<MvcResult> queued = clients.submit(this::login);
+		awaitQueueSize(1);
+
+		long start = System.nanoTime();
+		MvcResult rejected = login();
+
+		// Rejected at submission, not after waiting out the 2s timeout
+		assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(Duration.ofSeconds(1));
+		assertThat(rejected.getResponse().getStatus()).isEqualTo(503);
+		assertThat(rejected.getResponse().getHeader(HttpHeaders.RETRY_AFTER)).isEqualTo("7");
+
+		gate.countDown();
+		assertThat(running.get(5, TimeUnit.SECONDS).getResponse().getStatus()).isIn(200, 503);
+		assertThat(queued.get(5, TimeUnit.SECONDS).getResponse().getStatus()).isIn(200, 503);
+	}
+
+	@Test
+	void hashingThatOutlastsTheTimeoutAnswers503WithRetryAfter() throws Exception {
+		long start = System.nanoTime();
+		MvcResult result = login();
+
+		assertThat(Duration.ofNanos(System.nanoTime() - start)).isGreaterThanOrEqualTo(Duration.ofSeconds(2));
+		assertThat(result.getResponse().getStatus()).isEqualTo(503);
+		assertThat(result.getResponse().getHeader(HttpHeaders.RETRY_AFTER)).isEqualTo("7");
+	}
+
+	@Test
+	void loginSucceedsOnceThePoolHasRoom() throws Exception {
+		gate.countDown();
+
+		assertThat(login().getResponse().getStatus()).isEqualTo(200);
+	}
+
+	private MvcResult login() throws Exception {
+		return mockMvc.perform(post("/api/auth/login")
+						.contentType("application/json")
+						.content("{\"email\":\"busy-user@pms.test\",\"password\":\"secret\"}"))
+				.andReturn();
+	}
+
+	private void awaitQueueSize(int expected) throws InterruptedException {
+		long deadline = System.currentTimeMillis() + 5_000;
+		while (meterRegistry.get("password.hashing.queue.size").gauge().value() < expected) {
+			if (System.currentTimeMillis() > deadline) {
+				throw new AssertionError("Expected " + expected + " queued hashing request(s)");
+			}
+			Thread.sleep(10);
+		}
+	}
+}
@@ -0,0 +1,118 @@
+package pmsBackend.pmsBackend.security;
+
+import org.junit.jupiter.api.Test;
+import pmsBackend.pmsBackend.entity.Role;
+import pmsBackend.pmsBackend.entity.User;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TokenRevocationServiceTests {
+
+	private static final long EXPIRATION = 86_400_000;
+	private static final String SECRET = "thisisasecretkeythatsuperlongandshouldnotbeinprowithoutbeingsecurelystored";
+
+	private final TokenRevocationService revocations = new TokenRevocationService(EXPIRATION, 100, 0.01);
+
+	@Test
+	void revokedTokenIsRejectedAndOthersAreNot() {
+		ParsedToken revoked = token("jti-1", "a@pms.test", Instant.now());
+		ParsedToken other = token("jti-2", "a@pms.test", Instant.now());
+
+		revocations.revokeToken(revoked);
+
+		assertThat(revocations.isRevoked(revoked)).isTrue();
+		assertThat(revocations.isRevoked(other)).isFalse();
+	}
+
+	@Test
+	void tokenWithoutIdCannotBeRevokedOnItsOwn() {
+		ParsedToken token = token(null, "a@pms.test", Instant.now());
+
+		revocations.revokeToken(token);
+
+		assertThat(revocations.isRevoked(token)).isFalse();
+	}
+
+	@Test
+	void subjectRevocationRejectsOnlyTokensIssuedUpToIt() throws InterruptedException {
+		Instant before = Instant.now().minusMillis(1);
+		revocations.revokeAllTokensOf("b@pms.test");
+		Thread.sleep(2);
+		Instant after = Instant.now();
+
+		assertThat(revocations.isRevoked(token("jti-1", "b@pms.test", before))).isTrue();
+		assertThat(revocations.isRevoked(token("jti-2", "b@pms.test", after))).isFalse();
+		assertThat(revocations.isRevoked(token("jti-3", "b@pms.test", null))).isTrue();
+		assertThat(revocations.isRevoked(token("jti-4", "c@pms.test", before))).isFalse();
+	}
+
+	@Test
+	void loggingInAgainRightAfterARevocationGivesAWorkingToken() throws InterruptedException {
+		JwtService jwtService = new JwtService(SECRET, EXPIRATION);
+		User user = User.builder().email("d@pms.test").role(Role.FACILITATOR).build();
+		ParsedToken old = jwtService.parseToken(jwtService.generateToken(user));
+
+		revocations.revokeAllTokensOf(user.getEmail());
+		// Well within the same second, which used to reject the new token for its whole lifetime
+		Thread.sleep(2);
+		ParsedToken fresh = jwtService.parseToken(jwtService.generateToken(user));
+
+		assertThat(revocations.isRevoked(old)).isTrue();
+		assertThat(revocations.isRevoked(fresh)).isFalse();
+	}
+
+	@Test
+	void purgeDropsExpiredEntriesAndKeepsLiveOnes() {
+		ParsedToken expired = new ParsedToken("jti-old", "e@pms.test", List.of(),
+				Instant.now().minusSeconds(120), Instant.now().minusSeconds(60));
+		ParsedToken live = token("jti-live", "e@pms.test", Instant.now());
+		revocations.revokeToken(expired);
+		revocations.revokeToken(live);
+
+		revocations.purgeExpired();
+
+		assertThat(revocations.isRevoked(expired)).isFalse();
+		// Still found through the rebuilt Bloom filter
+		assertThat(revocations.isRevoked(live)).isTrue();
+	}
+
+	@Test
+	void purgeDropsSubjectRevocationsOnceTheirTokensHaveExpired() throws InterruptedException {
+		TokenRevocationService shortLived = new TokenRevocationService(50, 100, 0.01);
+		Instant issuedAt = Instant.now().minusMillis(1);
+		shortLived.revokeAllTokensOf("f@pms.test");
+		Thread.sleep(100);
+		shortLived.revokeAllTokensOf("g@pms.test");
+
+		shortLived.purgeExpired();
+
+		// Every token f@ had at revocation time has expired, so the entry is no longer needed
+		assertThat(shortLived.isRevoked(token("jti-1", "f@pms.test", issuedAt))).isFalse();
+		assertThat(shortLived.isRevoked(token("jti-2", "g@pms.test", issuedAt))).isTrue();
+	}
+
+	@Test
+	void bloomFalsePositivesFallThroughToTheExactLists() {
+		// 64 bits and 44 probes per key: a few dozen entries set every bit, so each lookup below gets
+		// past the Bloom filter and has to be answered by the exact maps
+		TokenRevocationService saturated = new TokenRevocationService(EXPIRATION, 1, 0.99);
+		BloomFilter sameSizing = new BloomFilter(1, 0.99);
+		IntStream.range(0, 50).forEach(i -> {
+			saturated.revokeToken(token("jti-" + i, "revoked-" + i + "@pms.test", Instant.now()));
+			saturated.revokeAllTokensOf("revoked-" + i + "@pms.test");
+			sameSizing.put("revoked-" + i);
+		});
+		assertThat(sameSizing.mightContain("never-added")).isTrue();
+
+		assertThat(saturated.isRevoked(token("jti-unrevoked", "h@pms.test", Instant.now()))).isFalse();
+		assertThat(saturated.isRevoked(token("jti-0", "h@pms.test", Instant.now()))).isTrue();
+	}
+
+	private static ParsedToken token(String tokenId, String subject, Instant issuedAt) {
+		return new ParsedToken(tokenId, subject, List.of(), issuedAt, Instant.now().plusMillis(EXPIRATION));
+	}
+}
@@ -0,0 +1,179 @@
+package pmsBackend.pmsBackend.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import pmsBackend.pmsBackend.TestData;
+import pmsBackend.pmsBackend.dto.AuditLogResponseDTO;
+import pmsBackend.pmsBackend.dto.StudentBulkUpdateRequestDTO;
+import pmsBackend.pmsBackend.dto.StudentRequestDTO;
+import pmsBackend.pmsBackend.entity.AuditAction;
+import pmsBackend.pmsBackend.entity.AuditEntityType;
+import pmsBackend.pmsBackend.entity.Cohort;
+import pmsBackend.pmsBackend.entity.Student;
+import pmsBackend.pmsBackend.entity.StudentStatus;
+import pmsBackend.pmsBackend.entity.User;
+import pmsBackend.pmsBackend.security.JwtService;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Audit entries are written asynchronously after commit, so the tests poll for them
+@SpringBootTest
+@AutoConfigureMockMvc
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class AuditTrailTests {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	@Autowired
+	private StudentService studentService;
+
+	@Autowired
+	private AuditService auditService;
+
+	@Autowired
+	private TestData testData;
+
+	@Autowired
+	private JwtService jwtService;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	private User admin;
+	private Cohort cohort;
+
+	@BeforeAll
+	void seed() {
+		admin = testData.admin("audit-admin@pms.test");
+		cohort = testData.cohort("Audit cohort", admin);
+	}
+
+	@Test
+	void updateRecordsOnlyTheChangedFields() throws Exception {
+		Student student = student("audit-update@pms.test");
+
+		studentService.updateStudent(student.getId(), request(student, 40, StudentStatus.ACTIVE), admin.getId());
+
+		List<AuditLogResponseDTO> entries = awaitEntries(student.getId(), 1);
+		assertThat(entries.get(0).getAction()).isEqualTo(AuditAction.UPDATE);
+		assertThat(entries.get(0).getActorUserId()).isEqualTo(admin.getId());
+		JsonNode changes = objectMapper.readTree(entries.get(0).getChanges());
+		assertThat(changes.properties()).hasSize(1);
+		assertThat(changes.path("progress").path("from").asInt()).isEqualTo(10);
+		assertThat(changes.path("progress").path("to").asInt()).isEqualTo(40);
+	}
+
+	@Test
+	void rolledBackChangesAreNotAudited() throws Exception {
+		Student student = student("audit-rollback@pms.test");
+
+		new TransactionTemplate(transactionManager).executeWithoutResult(tx -> {
+			studentService.updateStudent(student.getId(), request(student, 90, StudentStatus.GRADUATED), admin.getId());
+			tx.setRollbackOnly();
+		});
+		// Entries are written in order, so once this one is visible the rolled-back one would be too
+		studentService.updateStudent(student.getId(), request(student, 20, StudentStatus.ACTIVE), admin.getId());
+
+		List<AuditLogResponseDTO> entries = awaitEntries(student.getId(), 1);
+		assertThat(entries).hasSize(1);
+		assertThat(objectMapper.readTree(entries.get(0).getChanges()).path("progress").path("to").asInt()).isEqualTo(20);
+	}
+
+	@Test
+	void auditEndpointReturnsChangesAsJson() throws Exception {
+		Student student = student("audit-endpoint@pms.test");
+		studentService.updateStudent(student.getId(), request(student, 10, StudentStatus.ON_LEAVE), admin.getId());
+		awaitEntries(student.getId(), 1);
+
+		String body = mockMvc.perform(get("/api/audit")
+						.param("entityType", "STUDENT")
+						.param("entityId", student.getId().toString())
+						.header("Authorization", "Bearer " + jwtService.generateToken(admin)))
+				.andExpect(status().isOk())
+				.andReturn().getResponse().getContentAsString();
+
+		JsonNode page = objectMapper.readTree(body);
+		assertThat(page.path("hasMore").asBoolean()).isFalse();
+		assertThat(page.path("items").get(0).path("changes").path("status").path("to").asText()).isEqualTo("ON_LEAVE");
+	}
+
+	@Test
+	void bulkUpdateRecordsTheIdCountAndABoundedSample() throws Exception {
+		User bulkAdmin = testData.admin("audit-bulk-admin@pms.test");
+		Student student = student("audit-bulk@pms.test");
+		List<Long> ids = new ArrayList<>();
+		ids.add(student.getId());
+		LongStream.range(0, 2_499).forEach(i -> ids.add(-1 - i));
+
+		studentService.bulkUpdateStudents(new StudentBulkUpdateRequestDTO(
+				new StudentBulkUpdateRequestDTO.Selection(ids, null, null),
+				new StudentBulkUpdateRequestDTO.Patch(StudentStatus.ON_LEAVE, null, null, null)), bulkAdmin.getId());
+
+		AuditLogResponseDTO entry = awaitActorEntry(bulkAdmin.getId());
+		assertThat(entry.getAction()).isEqualTo(AuditAction.BULK_UPDATE);
+		JsonNode changes = objectMapper.readTree(entry.getChanges());
+		assertThat(changes.has("ids")).isFalse();
+		assertThat(changes.path("idCount").asInt()).isEqualTo(2_500);
+		assertThat(changes.path("sampleIds")).hasSize(20);
+		assertThat(changes.path("sampleIds").get(0).asLong()).isEqualTo(student.getId());
+		assertThat(changes.path("updated").asInt()).isEqualTo(1);
+	}
+
+	private Student student(String email) {
+		return testData.student(email, cohort, admin);
+	}
+
+	private StudentRequestDTO request(Student student, int progress, StudentStatus status) {
+		return StudentRequestDTO.builder()
+				.fullNames(student.getFullNames())
+				.emailAddress(student.getEmailAddress())
+				.cohortId(cohort.getId())
+				.progress(progress)
+				.status(status)
+				.build();
+	}
+
+	private List<AuditLogResponseDTO> awaitEntries(Long studentId, int expected) throws InterruptedException {
+		long deadline = System.currentTimeMillis() + 10_000;
+		List<AuditLogResponseDTO> entries;
+		do {
+			entries = auditService.getAuditPage(AuditEntityType.STUDENT, studentId, null, null, null).getItems();
+			if (entries.size() >= expected) {
+				return entries;
+			}
+			Thread.sleep(50);
+		} while (System.currentTimeMillis() < deadline);
+		throw new AssertionError("Expected " + expected + " audit entries for student " + studentId + " but found " + entries.size());
+	}
+
+	private AuditLogResponseDTO awaitActorEntry(Long actorUserId) throws InterruptedException {
+		long deadline = System.currentTimeMillis() + 10_000;
+		do {
+			List<AuditLogResponseDTO> entries = auditService.getAuditPage(null, null, actorUserId, null, null).getItems();
+			if (!entries.isEmpty()) {
+				return entries.get(0);
+			}
+			Thread.sleep(50);
+		} while (System.currentTimeMillis() < deadline);
+		throw new AssertionError("Expected an audit entry by user " + actorUserId);
+	}
+}
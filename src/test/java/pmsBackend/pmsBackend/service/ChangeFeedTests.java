@@ -0,0 +1,155 @@
+package pmsBackend.pmsBackend.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import pmsBackend.pmsBackend.TestData;
+import pmsBackend.pmsBackend.dto.StudentRequestDTO;
+import pmsBackend.pmsBackend.entity.AuditAction;
+import pmsBackend.pmsBackend.entity.AuditEntityType;
+import pmsBackend.pmsBackend.entity.Cohort;
+import pmsBackend.pmsBackend.entity.Student;
+import pmsBackend.pmsBackend.entity.StudentStatus;
+import pmsBackend.pmsBackend.entity.User;
+import pmsBackend.pmsBackend.security.JwtService;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Events are pushed from the task executor after commit, so the tests poll the streamed response
+@SpringBootTest
+@AutoConfigureMockMvc
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class ChangeFeedTests {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private StudentService studentService;
+
+	@Autowired
+	private TestData testData;
+
+	@Autowired
+	private JwtService jwtService;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	private User admin;
+	private Cohort watched;
+	private Cohort other;
+
+	@BeforeAll
+	void seed() {
+		admin = testData.admin("feed-admin@pms.test");
+		watched = testData.cohort("Feed cohort", admin);
+		other = testData.cohort("Other feed cohort", admin);
+	}
+
+	@Test
+	void subscribersOnlyReceiveChangesToTheirCohort() throws Exception {
+		Student inWatched = testData.student("feed-watched@pms.test", watched, admin);
+		Student inOther = testData.student("feed-other@pms.test", other, admin);
+		MockHttpServletResponse stream = subscribe(watched.getId());
+
+		studentService.updateStudent(inOther.getId(), update(inOther, other, 55), admin.getId());
+		studentService.updateStudent(inWatched.getId(), update(inWatched, watched, 45), admin.getId());
+
+		// Delivered in commit order, so once the second change is there the first would be too
+		String events = awaitContent(stream, "\"entityId\":" + inWatched.getId());
+		assertThat(events).contains("event:student", "\"action\":\"UPDATE\"", "\"to\":45");
+		assertThat(events).doesNotContain("\"entityId\":" + inOther.getId());
+	}
+
+	@Test
+	void rolledBackChangesAreNotPushed() throws Exception {
+		Student student = testData.student("feed-rollback@pms.test", watched, admin);
+		MockHttpServletResponse stream = subscribe(watched.getId());
+
+		new TransactionTemplate(transactionManager).executeWithoutResult(tx -> {
+			studentService.updateStudent(student.getId(), update(student, watched, 77), admin.getId());
+			tx.setRollbackOnly();
+		});
+		studentService.updateStudent(student.getId(), update(student, watched, 33), admin.getId());
+
+		String events = awaitContent(stream, "\"to\":33");
+		assertThat(events).doesNotContain("\"to\":77");
+	}
+
+	@Test
+	void unknownCohortIsNotFound() throws Exception {
+		mockMvc.perform(get("/api/changes")
+						.param("cohortId", "999999")
+						.header("Authorization", "Bearer " + jwtService.generateToken(admin)))
+				.andExpect(status().isNotFound());
+	}
+
+	@Test
+	void slowSubscribersAreEvictedWithoutAffectingOthers() {
+		List<Runnable> pending = new ArrayList<>();
+		// Nothing is written until the queued drains run, so every subscriber looks stalled
+		ChangeFeedService feed = new ChangeFeedService(pending::add, new SimpleMeterRegistry(), 2, Duration.ofMinutes(1));
+		feed.subscribe(null);
+		feed.subscribe(2L);
+
+		for (int i = 0; i < 3; i++) {
+			feed.onChange(new ChangeEvent(AuditEntityType.STUDENT, (long) i, AuditAction.UPDATE, Set.of(1L),
+					Map.of(), LocalDateTime.now()));
+		}
+
+		// The all-cohorts subscriber overflowed its buffer of 2; the cohort 2 one saw none of the events
+		assertThat(feed.getSubscriberCount()).isEqualTo(1);
+		// The evicted emitter is not attached to a response, so its final event is only buffered
+		pending.forEach(Runnable::run);
+	}
+
+	private MockHttpServletResponse subscribe(Long cohortId) throws Exception {
+		return mockMvc.perform(get("/api/changes")
+						.param("cohortId", cohortId.toString())
+						.header("Authorization", "Bearer " + jwtService.generateToken(admin)))
+				.andExpect(request().asyncStarted())
+				.andReturn().getResponse();
+	}
+
+	private StudentRequestDTO update(Student student, Cohort cohort, int progress) {
+		return StudentRequestDTO.builder()
+				.fullNames(student.getFullNames())
+				.emailAddress(student.getEmailAddress())
+				.cohortId(cohort.getId())
+				.progress(progress)
+				.status(StudentStatus.ACTIVE)
+				.build();
+	}
+
+	private String awaitContent(MockHttpServletResponse stream, String expected) throws Exception {
+		long deadline = System.currentTimeMillis() + 10_000;
+		String content;
+		do {
+			content = stream.getContentAsString();
+			if (content.contains(expected)) {
+				return content;
+			}
+			Thread.sleep(50);
+		} while (System.currentTimeMillis() < deadline);
+		throw new AssertionError("Expected " + expected + " in the change feed but received: " + content);
+	}
+}
@@ -0,0 +1,111 @@
+package pmsBackend.pmsBackend.service;
+
+import jakarta.persistence.EntityNotFoundException;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import pmsBackend.pmsBackend.TestData;
+import pmsBackend.pmsBackend.dto.CohortRequestDTO;
+import pmsBackend.pmsBackend.dto.CohortResponseDTO;
+import pmsBackend.pmsBackend.dto.RegisterRequest;
+import pmsBackend.pmsBackend.entity.Cohort;
+import pmsBackend.pmsBackend.entity.Role;
+import pmsBackend.pmsBackend.entity.User;
+import pmsBackend.pmsBackend.repository.DataVersion;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+// Every cohort read path is warmed first, so a missing eviction shows up as the stale value
+@SpringBootTest
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class CohortCacheTests {
+
+	@Autowired
+	private CohortService cohortService;
+
+	@Autowired
+	private UserService userService;
+
+	@Autowired
+	private TestData testData;
+
+	@Autowired
+	private CacheManager cacheManager;
+
+	private User admin;
+
+	@BeforeAll
+	void seed() {
+		admin = testData.admin("cache-admin@pms.test");
+	}
+
+	@Test
+	void updateIsVisibleOnTheNextRead() {
+		Cohort cohort = testData.cohort("Cache cohort", admin);
+		DataVersion version = warm(cohort);
+
+		cohortService.updateCohort(cohort.getId(), CohortRequestDTO.builder()
+				.cohortName("Renamed cache cohort")
+				.startDate(cohort.getStartDate())
+				.facilitatorId(admin.getId())
+				.build(), admin.getId());
+
+		assertThat(cohortService.getCohortById(cohort.getId()).getCohortName()).isEqualTo("Renamed cache cohort");
+		assertThat(cohortService.getCohortsById(List.of(cohort.getId())).get(cohort.getId()).getCohortName())
+				.isEqualTo("Renamed cache cohort");
+		assertThat(cohortService.getAllCohorts()).extracting(CohortResponseDTO::getCohortName)
+				.contains("Renamed cache cohort")
+				.doesNotContain("Cache cohort");
+		assertThat(cohortService.getCohortsVersion()).isNotEqualTo(version);
+	}
+
+	@Test
+	void deleteIsVisibleOnTheNextRead() {
+		Cohort cohort = testData.cohort("Deleted cache cohort", admin);
+		DataVersion version = warm(cohort);
+
+		cohortService.deleteCohort(cohort.getId(), admin.getId());
+
+		assertThatThrownBy(() -> cohortService.getCohortById(cohort.getId()))
+				.isInstanceOf(EntityNotFoundException.class);
+		assertThat(cohortService.getCohortsById(List.of(cohort.getId()))).isEmpty();
+		assertThat(cohortService.getAllCohorts()).extracting(CohortResponseDTO::getId).doesNotContain(cohort.getId());
+		assertThat(cohortService.getCohortsVersion()).isNotEqualTo(version);
+	}
+
+	@Test
+	void userRenameIsVisibleOnTheNextRead() {
+		// Cached cohorts embed their facilitator, which UserService writes without going through CohortService
+		User facilitator = testData.user("cache-facilitator@pms.test", Role.FACILITATOR);
+		Cohort cohort = testData.cohort("Facilitated cache cohort", facilitator);
+		warm(cohort);
+
+		userService.updateUser(facilitator.getId(), new RegisterRequest("Renamed facilitator",
+				"cache-facilitator@pms.test", "0800000001", "unused", Role.FACILITATOR));
+
+		assertThat(cohortService.getCohortById(cohort.getId()).getFacilitator().getFullName())
+				.isEqualTo("Renamed facilitator");
+		assertThat(cohortService.getCohortsById(List.of(cohort.getId())).get(cohort.getId()).getCreatedBy().getFullName())
+				.isEqualTo("Renamed facilitator");
+		assertThat(cohortService.getAllCohorts())
+				.filteredOn(dto -> dto.getId().equals(cohort.getId()))
+				.singleElement()
+				.satisfies(dto -> assertThat(dto.getFacilitator().getFullName()).isEqualTo("Renamed facilitator"));
+	}
+
+	// Fills the cohorts and cohortList caches through every read path and returns the cached version.
+	// TestData saves through the repositories, past the evictions, so the caches are cleared first.
+	private DataVersion warm(Cohort cohort) {
+		cacheManager.getCacheNames().forEach(name -> cacheManager.getCache(name).clear());
+		assertThat(cohortService.getCohortById(cohort.getId()).getCohortName()).isEqualTo(cohort.getCohortName());
+		assertThat(cohortService.getCohortsById(List.of(cohort.getId()))).containsKey(cohort.getId());
+		assertThat(cohortService.getAllCohorts()).extracting(CohortResponseDTO::getId).contains(cohort.getId());
+		return cohortService.getCohortsVersion();
+	}
+}
@@ -0,0 +1,201 @@
+package pmsBackend.pmsBackend.service;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import pmsBackend.pmsBackend.config.CacheConfig;
+import pmsBackend.pmsBackend.dto.CohortResponseDTO;
+import pmsBackend.pmsBackend.dto.CohortStatsDTO;
+import pmsBackend.pmsBackend.dto.CursorPageResponseDTO;
+import pmsBackend.pmsBackend.dto.StudentResponseDTO;
+import pmsBackend.pmsBackend.dto.StudentSort;
+import pmsBackend.pmsBackend.entity.Cohort;
+import pmsBackend.pmsBackend.entity.Role;
+import pmsBackend.pmsBackend.entity.Student;
+import pmsBackend.pmsBackend.entity.StudentStatus;
+import pmsBackend.pmsBackend.entity.User;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// The list endpoints must run a constant number of statements, however many rows they return,
+// and cached cohort reads must not touch the database at all. The data is committed up front rather
+// than left in a test-managed transaction: cohort cache misses are read in a transaction of their own.
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Import({StudentService.class, CohortService.class, CohortStatsService.class, KeysetPager.class, CacheConfig.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class ListQueryCountTests {
+
+	private static final int STUDENTS = 40;
+	private static final int COHORTS = 4;
+
+	@Autowired
+	private TestEntityManager entityManager;
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	@Autowired
+	private StudentService studentService;
+
+	@Autowired
+	private CohortService cohortService;
+
+	@Autowired
+	private CohortStatsService cohortStatsService;
+
+	@Autowired
+	private CacheManager cacheManager;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	@MockitoBean
+	private AuditService auditService; // audit writes are not part of the read paths measured here
+
+	private Statistics statistics;
+
+	@BeforeAll
+	void seed() {
+		new TransactionTemplate(transactionManager).executeWithoutResult(tx -> {
+			User admin = entityManager.persist(user("admin@pms.test", Role.ADMIN));
+			for (int c = 0; c < COHORTS; c++) {
+				// A distinct facilitator per cohort, so lazy loading would show up as extra statements
+				User facilitator = entityManager.persist(user("facilitator" + c + "@pms.test", Role.FACILITATOR));
+				Cohort cohort = entityManager.persist(Cohort.builder()
+						.cohortName("Cohort " + c)
+						.startDate(LocalDate.of(2025, 1, 1))
+						.facilitator(facilitator)
+						.createdBy(admin)
+						.build());
+				for (int s = 0; s < STUDENTS / COHORTS; s++) {
+					entityManager.persist(Student.builder()
+							.fullNames("Student " + c + "-" + s)
+							.emailAddress("student" + c + "-" + s + "@pms.test")
+							.cohort(cohort)
+							.progress(s)
+							.status(StudentStatus.ACTIVE)
+							.createdBy(admin)
+							.build());
+				}
+			}
+		});
+	}
+
+	@BeforeEach
+	void setUp() {
+		cacheManager.getCacheNames().forEach(name -> cacheManager.getCache(name).clear());
+		statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+		statistics.clear();
+	}
+
+	@Test
+	void studentPageRunsOneStatement() {
+		// Cold cohort cache: every cohort on the page is read in one further statement
+		studentService.getStudentsPage(null, null, StudentSort.CREATED_AT, Sort.Direction.ASC, null, STUDENTS);
+		assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+		statistics.clear();
+
+		CursorPageResponseDTO<StudentResponseDTO> page = studentService.getStudentsPage(
+				null, null, StudentSort.CREATED_AT, Sort.Direction.ASC, null, STUDENTS);
+
+		assertThat(page.getItems()).hasSize(STUDENTS);
+		assertThat(page.getItems()).allSatisfy(student -> {
+			assertThat(student.getCohort().getFacilitator().getEmail()).isNotNull();
+			assertThat(student.getCreatedBy().getEmail()).isEqualTo("admin@pms.test");
+		});
+		assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+	}
+
+	@Test
+	void partlyCachedCohortsAreCompletedInOneStatement() {
+		Long cachedId = cohortService.getAllCohorts().get(0).getId();
+		cohortService.getCohortById(cachedId);
+		statistics.clear();
+
+		CursorPageResponseDTO<StudentResponseDTO> page = studentService.getStudentsPage(
+				null, null, StudentSort.CREATED_AT, Sort.Direction.ASC, null, STUDENTS);
+
+		assertThat(page.getItems()).extracting(student -> student.getCohort().getId()).doesNotContainNull();
+		assertThat(page.getItems()).extracting(student -> student.getCohort().getId()).contains(cachedId);
+		assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+	}
+
+	@Test
+	void cohortListRunsOneStatement() {
+		List<CohortResponseDTO> cohorts = cohortService.getAllCohorts();
+
+		assertThat(cohorts).hasSize(COHORTS);
+		assertThat(cohorts).allSatisfy(cohort -> assertThat(cohort.getFacilitator().getEmail()).isNotNull());
+		assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+	}
+
+	@Test
+	void cachedCohortReadsRunNoStatements() {
+		List<CohortResponseDTO> cohorts = cohortService.getAllCohorts();
+		cohortService.getCohortById(cohorts.get(0).getId());
+		statistics.clear();
+
+		assertThat(cohortService.getAllCohorts()).hasSize(COHORTS);
+		assertThat(cohortService.getCohortById(cohorts.get(0).getId()).getCohortName()).isEqualTo(cohorts.get(0).getCohortName());
+		assertThat(statistics.getPrepareStatementCount()).isZero();
+	}
+
+	@Test
+	void revalidationRunsOneStatement() {
+		cohortService.getCohortsVersion();
+		statistics.clear();
+
+		String version = studentService.getStudentsVersion(StudentStatus.ACTIVE, null, null);
+
+		assertThat(version).startsWith("DataVersion[count=" + STUDENTS + ",");
+		assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+	}
+
+	@Test
+	void cohortStatsRunOneAggregateStatement() {
+		cohortService.getAllCohorts();
+		statistics.clear();
+
+		List<CohortStatsDTO> stats = cohortStatsService.getAllCohortStats();
+
+		assertThat(stats).hasSize(COHORTS);
+		assertThat(stats).allSatisfy(cohort -> {
+			assertThat(cohort.getTotalStudents()).isEqualTo(STUDENTS / COHORTS);
+			assertThat(cohort.getStudentsByStatus()).containsEntry(StudentStatus.ACTIVE, (long) STUDENTS / COHORTS)
+					.containsEntry(StudentStatus.GRADUATED, 0L);
+			assertThat(cohort.getAverageProgress()).isEqualTo(4.5);
+			assertThat(cohort.getMinProgress()).isZero();
+			assertThat(cohort.getMaxProgress()).isEqualTo(STUDENTS / COHORTS - 1);
+		});
+		assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+	}
+
+	private User user(String email, Role role) {
+		return User.builder()
+				.fullName(email)
+				.email(email)
+				.cellphone(email)
+				.password("{noop}secret")
+				.role(role)
+				.build();
+	}
+}
@@ -0,0 +1,83 @@
+package pmsBackend.pmsBackend.service;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import pmsBackend.pmsBackend.dto.LoginRequest;
+import pmsBackend.pmsBackend.entity.Role;
+import pmsBackend.pmsBackend.entity.User;
+import pmsBackend.pmsBackend.repository.UserRepository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+// A fixed strength of 5 skips startup calibration; hashes written at 4 count as weaker
+@SpringBootTest(properties = "security.password.bcrypt.strength=5")
+class PasswordRehashTests {
+
+	private static final String PASSWORD = "rehash-secret";
+
+	@Autowired
+	private UserService userService;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@Test
+	void lowerCostHashIsReEncodedOnLogin() {
+		String weak = "{bcrypt}" + new BCryptPasswordEncoder(4).encode(PASSWORD);
+		User user = user("rehash-low-cost@pms.test", weak);
+
+		userService.authenticateUser(new LoginRequest(user.getEmail(), PASSWORD));
+
+		String stored = passwordOf(user);
+		assertThat(stored).isNotEqualTo(weak).startsWith("{bcrypt}$2a$05$");
+		assertThat(new BCryptPasswordEncoder().matches(PASSWORD, stored.substring("{bcrypt}".length()))).isTrue();
+	}
+
+	@Test
+	void unprefixedHashIsReEncodedOnLogin() {
+		String legacy = new BCryptPasswordEncoder(5).encode(PASSWORD);
+		User user = user("rehash-legacy@pms.test", legacy);
+
+		userService.authenticateUser(new LoginRequest(user.getEmail(), PASSWORD));
+
+		assertThat(passwordOf(user)).startsWith("{bcrypt}$2a$05$");
+	}
+
+	@Test
+	void currentHashIsLeftAlone() {
+		String current = "{bcrypt}" + new BCryptPasswordEncoder(5).encode(PASSWORD);
+		User user = user("rehash-current@pms.test", current);
+
+		userService.authenticateUser(new LoginRequest(user.getEmail(), PASSWORD));
+
+		assertThat(passwordOf(user)).isEqualTo(current);
+	}
+
+	@Test
+	void failedLoginDoesNotTouchTheHash() {
+		String weak = "{bcrypt}" + new BCryptPasswordEncoder(4).encode(PASSWORD);
+		User user = user("rehash-wrong-password@pms.test", weak);
+
+		assertThatThrownBy(() -> userService.authenticateUser(new LoginRequest(user.getEmail(), "wrong-password")))
+				.isInstanceOf(BadCredentialsException.class);
+
+		assertThat(passwordOf(user)).isEqualTo(weak);
+	}
+
+	private String passwordOf(User user) {
+		return userRepository.findById(user.getId()).orElseThrow().getPassword();
+	}
+
+	private User user(String email, String password) {
+		return userRepository.save(User.builder()
+				.fullName(email)
+				.email(email)
+				.password(password)
+				.role(Role.CLIENT)
+				.build());
+	}
+}
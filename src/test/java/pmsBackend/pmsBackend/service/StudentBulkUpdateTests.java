@@ -0,0 +1,158 @@
+package pmsBackend.pmsBackend.service;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import pmsBackend.pmsBackend.TestData;
+import pmsBackend.pmsBackend.dto.StudentBulkUpdateRequestDTO;
+import pmsBackend.pmsBackend.dto.StudentBulkUpdateResultDTO;
+import pmsBackend.pmsBackend.entity.Cohort;
+import pmsBackend.pmsBackend.entity.Student;
+import pmsBackend.pmsBackend.entity.StudentStatus;
+import pmsBackend.pmsBackend.entity.User;
+import pmsBackend.pmsBackend.repository.StudentRepository;
+import pmsBackend.pmsBackend.security.JwtService;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Bulk updates run as UPDATE statements without loading rows, so each test re-reads what changed
+@SpringBootTest
+@AutoConfigureMockMvc
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class StudentBulkUpdateTests {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private StudentService studentService;
+
+	@Autowired
+	private StudentRepository studentRepository;
+
+	@Autowired
+	private TestData testData;
+
+	@Autowired
+	private JwtService jwtService;
+
+	private User admin;
+	private Cohort from;
+	private Cohort to;
+
+	@BeforeAll
+	void seed() {
+		admin = testData.admin("bulk-admin@pms.test");
+		from = testData.cohort("Bulk cohort", admin);
+		to = testData.cohort("Bulk target cohort", admin);
+	}
+
+	@Test
+	void progressDeltaIsClampedToZeroAndOneHundred() {
+		Student high = student("bulk-high@pms.test", from, 95, StudentStatus.ACTIVE);
+		Student middle = student("bulk-middle@pms.test", from, 50, StudentStatus.ACTIVE);
+		Student low = student("bulk-low@pms.test", from, 5, StudentStatus.ACTIVE);
+
+		bulkUpdate(ids(high, middle), null, null, patchWithDelta(10));
+		bulkUpdate(ids(low), null, null, patchWithDelta(-10));
+
+		assertThat(progressOf(high)).isEqualTo(100);
+		assertThat(progressOf(middle)).isEqualTo(60);
+		assertThat(progressOf(low)).isZero();
+	}
+
+	@Test
+	void idListsLongerThanOneStatementAreChunked() {
+		Student first = student("bulk-chunk-first@pms.test", from, 10, StudentStatus.ACTIVE);
+		Student last = student("bulk-chunk-last@pms.test", from, 10, StudentStatus.ACTIVE);
+		// 2,500 ids, the real ones at either end, so they land in the first and the third UPDATE
+		List<Long> ids = new ArrayList<>();
+		ids.add(first.getId());
+		LongStream.range(0, 2_498).forEach(i -> ids.add(-1 - i));
+		ids.add(last.getId());
+
+		StudentBulkUpdateResultDTO result = bulkUpdate(ids, null, null,
+				new StudentBulkUpdateRequestDTO.Patch(StudentStatus.ON_LEAVE, null, null, null));
+
+		assertThat(result.getUpdated()).isEqualTo(2);
+		assertThat(statusOf(first)).isEqualTo(StudentStatus.ON_LEAVE);
+		assertThat(statusOf(last)).isEqualTo(StudentStatus.ON_LEAVE);
+	}
+
+	@Test
+	void duplicateIdsAreUpdatedOnce() {
+		Student student = student("bulk-duplicate@pms.test", from, 10, StudentStatus.ACTIVE);
+
+		StudentBulkUpdateResultDTO result = bulkUpdate(ids(student, student), null, null, patchWithDelta(5));
+
+		assertThat(result.getUpdated()).isEqualTo(1);
+		assertThat(progressOf(student)).isEqualTo(15);
+	}
+
+	@Test
+	void filteredSelectionMovesOnlyMatchingStudents() {
+		Cohort source = testData.cohort("Bulk move cohort", admin);
+		Student active = student("bulk-move-active@pms.test", source, 30, StudentStatus.ACTIVE);
+		Student graduated = student("bulk-move-graduated@pms.test", source, 30, StudentStatus.GRADUATED);
+
+		StudentBulkUpdateResultDTO result = bulkUpdate(null, source.getId(), StudentStatus.ACTIVE,
+				new StudentBulkUpdateRequestDTO.Patch(null, 80, null, to.getId()));
+
+		assertThat(result.getUpdated()).isEqualTo(1);
+		Student moved = studentRepository.findWithAssociationsById(active.getId()).orElseThrow();
+		assertThat(moved.getCohort().getId()).isEqualTo(to.getId());
+		assertThat(moved.getProgress()).isEqualTo(80);
+		Student untouched = studentRepository.findWithAssociationsById(graduated.getId()).orElseThrow();
+		assertThat(untouched.getCohort().getId()).isEqualTo(source.getId());
+		assertThat(untouched.getProgress()).isEqualTo(30);
+	}
+
+	@Test
+	void nullIdIsABadRequest() throws Exception {
+		mockMvc.perform(patch("/api/students/bulk")
+						.contentType("application/json")
+						.content("{\"selection\":{\"ids\":[1,null]},\"patch\":{\"status\":\"ACTIVE\"}}")
+						.header("Authorization", "Bearer " + jwtService.generateToken(admin)))
+				.andExpect(status().isBadRequest());
+	}
+
+	private StudentBulkUpdateResultDTO bulkUpdate(List<Long> ids, Long cohortId, StudentStatus status,
+												   StudentBulkUpdateRequestDTO.Patch patch) {
+		return studentService.bulkUpdateStudents(new StudentBulkUpdateRequestDTO(
+				new StudentBulkUpdateRequestDTO.Selection(ids, cohortId, status), patch), admin.getId());
+	}
+
+	private static StudentBulkUpdateRequestDTO.Patch patchWithDelta(int delta) {
+		return new StudentBulkUpdateRequestDTO.Patch(null, null, delta, null);
+	}
+
+	private static List<Long> ids(Student... students) {
+		List<Long> ids = new ArrayList<>();
+		for (Student student : students) {
+			ids.add(student.getId());
+		}
+		return ids;
+	}
+
+	private int progressOf(Student student) {
+		return studentRepository.findById(student.getId()).orElseThrow().getProgress();
+	}
+
+	private StudentStatus statusOf(Student student) {
+		return studentRepository.findById(student.getId()).orElseThrow().getStatus();
+	}
+
+	private Student student(String email, Cohort cohort, int progress, StudentStatus status) {
+		return testData.student(email, cohort, admin, student -> student.progress(progress).status(status));
+	}
+}
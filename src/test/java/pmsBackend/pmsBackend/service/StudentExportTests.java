@@ -0,0 +1,166 @@
+package pmsBackend.pmsBackend.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import pmsBackend.pmsBackend.TestData;
+import pmsBackend.pmsBackend.entity.Cohort;
+import pmsBackend.pmsBackend.entity.Student;
+import pmsBackend.pmsBackend.entity.StudentStatus;
+import pmsBackend.pmsBackend.entity.User;
+import pmsBackend.pmsBackend.security.JwtService;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// The body is a StreamingResponseBody, written on the async dispatch after the handler returns
+@SpringBootTest
+@AutoConfigureMockMvc
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class StudentExportTests {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private TestData testData;
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	@Autowired
+	private JwtService jwtService;
+
+	private String token;
+	private Cohort exported;
+	private Student first;
+	private Student second;
+	private Student graduated;
+
+	@BeforeAll
+	void seed() {
+		User admin = testData.admin("export-admin@pms.test");
+		exported = testData.cohort("Export cohort", admin);
+		Cohort other = testData.cohort("Other export cohort", admin);
+		first = testData.student("export-first@pms.test", exported, admin,
+				student -> student.fullNames("Doe, \"Jay\"").progress(40));
+		second = testData.student("export-second@pms.test", exported, admin);
+		graduated = testData.student("export-graduated@pms.test", exported, admin,
+				student -> student.status(StudentStatus.GRADUATED));
+		testData.student("export-other@pms.test", other, admin);
+		token = jwtService.generateToken(admin);
+	}
+
+	@Test
+	void ndjsonExportWritesOneObjectPerMatchingStudent() throws Exception {
+		MockHttpServletResponse response = export(get("/api/students/export")
+				.param("cohortId", exported.getId().toString())
+				.param("status", "ACTIVE"));
+
+		assertThat(response.getContentType()).startsWith("application/x-ndjson");
+		assertThat(response.getHeader(HttpHeaders.CONTENT_ENCODING)).isNull();
+		List<JsonNode> rows = new ArrayList<>();
+		for (String line : lines(response.getContentAsByteArray())) {
+			rows.add(objectMapper.readTree(line));
+		}
+		assertThat(rows).extracting(row -> row.get("id").asLong()).containsExactly(first.getId(), second.getId());
+		assertThat(rows).allSatisfy(row -> {
+			assertThat(row.get("cohortId").asLong()).isEqualTo(exported.getId());
+			assertThat(row.get("cohortName").asText()).isEqualTo("Export cohort");
+			assertThat(row.get("status").asText()).isEqualTo("ACTIVE");
+		});
+		assertThat(rows.get(0).get("fullNames").asText()).isEqualTo("Doe, \"Jay\"");
+		assertThat(rows.get(0).get("progress").asInt()).isEqualTo(40);
+	}
+
+	@Test
+	void csvExportWritesAHeaderAndQuotedRows() throws Exception {
+		MockHttpServletResponse response = export(get("/api/students/export")
+				.param("format", "csv")
+				.param("cohortId", exported.getId().toString()));
+
+		assertThat(response.getContentType()).startsWith("text/csv");
+		assertThat(response.getHeader(HttpHeaders.CONTENT_DISPOSITION)).contains("students.csv");
+		List<String> lines = lines(response.getContentAsByteArray());
+		assertThat(lines).hasSize(4);
+		assertThat(lines.get(0)).startsWith("id,fullNames,emailAddress,");
+		assertThat(lines.get(1)).startsWith(first.getId() + ",\"Doe, \"\"Jay\"\"\",export-first@pms.test,");
+		assertThat(lines.get(2)).startsWith(second.getId() + ",");
+		assertThat(lines.get(3)).startsWith(graduated.getId() + ",").contains(",GRADUATED,");
+	}
+
+	@Test
+	void gzippedExportsDecompressToTheSameRows() throws Exception {
+		for (String format : new String[]{"ndjson", "csv"}) {
+			byte[] plain = export(get("/api/students/export")
+					.param("format", format)
+					.param("cohortId", exported.getId().toString())).getContentAsByteArray();
+			MockHttpServletResponse gzipped = export(get("/api/students/export")
+					.param("format", format)
+					.param("cohortId", exported.getId().toString())
+					.header(HttpHeaders.ACCEPT_ENCODING, "gzip, deflate"));
+
+			assertThat(gzipped.getHeader(HttpHeaders.CONTENT_ENCODING)).isEqualTo("gzip");
+			assertThat(gzipped.getHeaders(HttpHeaders.VARY)).contains(HttpHeaders.ACCEPT_ENCODING);
+			assertThat(gunzip(gzipped.getContentAsByteArray())).isEqualTo(plain);
+		}
+	}
+
+	@Test
+	void statusFilterAloneSpansCohorts() throws Exception {
+		List<String> lines = lines(export(get("/api/students/export")
+				.param("format", "csv")
+				.param("status", "GRADUATED")).getContentAsByteArray());
+
+		assertThat(lines.subList(1, lines.size())).allSatisfy(line -> assertThat(line).contains(",GRADUATED,"));
+		assertThat(lines).anySatisfy(line -> assertThat(line).startsWith(graduated.getId() + ","));
+	}
+
+	@Test
+	void unknownFormatIsABadRequest() throws Exception {
+		mockMvc.perform(get("/api/students/export")
+						.param("format", "xml")
+						.header("Authorization", "Bearer " + token))
+				.andExpect(status().isBadRequest());
+	}
+
+	private MockHttpServletResponse export(MockHttpServletRequestBuilder request) throws Exception {
+		MvcResult started = mockMvc.perform(request.header("Authorization", "Bearer " + token))
+				.andExpect(request().asyncStarted())
+				.andReturn();
+		return mockMvc.perform(asyncDispatch(started))
+				.andExpect(status().isOk())
+				.andReturn().getResponse();
+	}
+
+	private static List<String> lines(byte[] body) {
+		return new String(body, StandardCharsets.UTF_8).lines().toList();
+	}
+
+	private static byte[] gunzip(byte[] body) throws IOException {
+		try (InputStream input = new GZIPInputStream(new ByteArrayInputStream(body))) {
+			return input.readAllBytes();
+		}
+	}
+}
@@ -0,0 +1,189 @@
+package pmsBackend.pmsBackend.service;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import pmsBackend.pmsBackend.TestData;
+import pmsBackend.pmsBackend.dto.StudentImportResultDTO;
+import pmsBackend.pmsBackend.entity.Cohort;
+import pmsBackend.pmsBackend.entity.Student;
+import pmsBackend.pmsBackend.entity.StudentStatus;
+import pmsBackend.pmsBackend.entity.User;
+import pmsBackend.pmsBackend.repository.StudentRepository;
+import pmsBackend.pmsBackend.security.JwtService;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class StudentImportTests {
+
+	private static final String HEADER = "fullNames,emailAddress,cohortId,progress,status";
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private StudentImportService studentImportService;
+
+	@Autowired
+	private StudentRepository studentRepository;
+
+	@Autowired
+	private TestData testData;
+
+	@Autowired
+	private JwtService jwtService;
+
+	private User admin;
+	private Cohort cohort;
+
+	@BeforeAll
+	void seed() {
+		admin = testData.admin("import-admin@pms.test");
+		cohort = testData.cohort("Import cohort", admin);
+	}
+
+	@Test
+	void csvLinesFollowRfc4180Quoting() {
+		assertThat(StudentImportService.parseCsvLine("a, b ,c")).containsExactly("a", "b", "c");
+		assertThat(StudentImportService.parseCsvLine("\"Doe, Jane\",\"say \"\"hi\"\"\",")).containsExactly("Doe, Jane", "say \"hi\"", "");
+		assertThat(StudentImportService.parseCsvLine("")).containsExactly("");
+		assertThatThrownBy(() -> StudentImportService.parseCsvLine("\"unterminated,x"))
+				.isInstanceOf(IllegalArgumentException.class)
+				.hasMessage("Unterminated quoted field");
+	}
+
+	@Test
+	void validCsvRowsAreImported() throws Exception {
+		StudentImportResultDTO result = importCsv(HEADER,
+				"\"Moyo, Thandi\",import-valid-1@pms.test," + cohort.getId() + ",40,active",
+				"",
+				"Sipho Dube,import-valid-2@pms.test," + cohort.getId() + ",0,");
+
+		assertThat(result.getTotalRows()).isEqualTo(2);
+		assertThat(result.getImported()).isEqualTo(2);
+		assertThat(result.getErrors()).isEmpty();
+		Student student = studentRepository.findByEmailAddress("import-valid-1@pms.test").orElseThrow();
+		assertThat(student.getFullNames()).isEqualTo("Moyo, Thandi");
+		assertThat(student.getProgress()).isEqualTo(40);
+		assertThat(student.getStatus()).isEqualTo(StudentStatus.ACTIVE);
+	}
+
+	@Test
+	void unknownHeaderColumnRejectsTheUpload() {
+		assertThatThrownBy(() -> importCsv("fullNames,email,cohortId", "x,import-header@pms.test,1"))
+				.isInstanceOf(IllegalArgumentException.class)
+				.hasMessageStartingWith("Unknown CSV column 'email'");
+	}
+
+	@Test
+	void unknownHeaderColumnIsABadRequest() throws Exception {
+		mockMvc.perform(post("/api/students/import")
+						.contentType("text/csv")
+						.content("name,emailAddress\nx,import-header-http@pms.test\n")
+						.header("Authorization", "Bearer " + jwtService.generateToken(admin)))
+				.andExpect(status().isBadRequest());
+	}
+
+	@Test
+	void invalidRowsAreReportedByLine() throws Exception {
+		testData.student("import-existing@pms.test", cohort, admin);
+
+		StudentImportResultDTO result = importCsv(HEADER,
+				"Good Row,import-rows-ok@pms.test," + cohort.getId() + ",10,ACTIVE",
+				"Bad Progress,import-rows-2@pms.test," + cohort.getId() + ",lots,ACTIVE",
+				"Too,Few",
+				",import-rows-4@pms.test," + cohort.getId() + ",10,ACTIVE",
+				"No Cohort,import-rows-5@pms.test,999999,10,ACTIVE",
+				"Again,import-rows-ok@pms.test," + cohort.getId() + ",10,ACTIVE",
+				"Existing,import-existing@pms.test," + cohort.getId() + ",10,ACTIVE");
+
+		assertThat(result.getTotalRows()).isEqualTo(7);
+		assertThat(result.getImported()).isEqualTo(1);
+		assertThat(result.getFailed()).isEqualTo(6);
+		assertThat(result.getErrors())
+				.extracting(StudentImportResultDTO.RowError::getLine, StudentImportResultDTO.RowError::getMessage)
+				.containsExactly(
+						tuple(3L, "Invalid value in column progress: lots"),
+						tuple(4L, "Expected 5 columns but found 2"),
+						tuple(5L, "fullNames is required"),
+						tuple(6L, "Cohort not found with ID: 999999"),
+						tuple(7L, "Duplicate emailAddress within this upload"),
+						tuple(8L, "A student with this email address already exists"));
+	}
+
+	@Test
+	void malformedNdjsonRowsAreReported() throws Exception {
+		StudentImportResultDTO result = importNdjson(
+				"{\"fullNames\":\"Json Row\",\"emailAddress\":\"import-json-1@pms.test\",\"cohortId\":" + cohort.getId() + ",\"progress\":5,\"status\":\"ACTIVE\"}",
+				"{\"fullNames\":");
+
+		assertThat(result.getImported()).isEqualTo(1);
+		assertThat(result.getErrors()).singleElement()
+				.satisfies(error -> {
+					assertThat(error.getLine()).isEqualTo(2);
+					assertThat(error.getMessage()).startsWith("Malformed JSON");
+				});
+	}
+
+	@Test
+	void aChunkFailingAtTheDatabaseIsRetriedRowByRow() throws Exception {
+		// Passes validation but exceeds varchar(255), so the whole chunk's insert fails
+		String tooLong = "x".repeat(300);
+
+		StudentImportResultDTO result = importCsv(HEADER,
+				"Before,import-retry-1@pms.test," + cohort.getId() + ",10,ACTIVE",
+				tooLong + ",import-retry-2@pms.test," + cohort.getId() + ",10,ACTIVE",
+				"After,import-retry-3@pms.test," + cohort.getId() + ",10,ACTIVE");
+
+		assertThat(result.getImported()).isEqualTo(2);
+		assertThat(result.getErrors()).singleElement()
+				.satisfies(error -> {
+					assertThat(error.getLine()).isEqualTo(3);
+					assertThat(error.getMessage()).startsWith("Insert failed: ");
+				});
+		assertThat(studentRepository.findByEmailAddress("import-retry-1@pms.test")).isPresent();
+		assertThat(studentRepository.findByEmailAddress("import-retry-2@pms.test")).isEmpty();
+		assertThat(studentRepository.findByEmailAddress("import-retry-3@pms.test")).isPresent();
+	}
+
+	@Test
+	void errorReportIsCappedButFailuresAreAllCounted() throws Exception {
+		String[] lines = IntStream.range(0, 1_005)
+				.mapToObj(i -> ",import-cap-" + i + "@pms.test," + cohort.getId() + ",10,ACTIVE")
+				.toArray(String[]::new);
+
+		StudentImportResultDTO result = importCsv(HEADER, lines);
+
+		assertThat(result.getFailed()).isEqualTo(1_005);
+		assertThat(result.getErrors()).hasSize(1_000);
+		assertThat(result.isErrorsTruncated()).isTrue();
+	}
+
+	private StudentImportResultDTO importCsv(String header, String... rows) throws Exception {
+		return importBody(StudentImportService.Format.CSV, header + "\n" + String.join("\n", rows));
+	}
+
+	private StudentImportResultDTO importNdjson(String... rows) throws Exception {
+		return importBody(StudentImportService.Format.NDJSON, String.join("\n", rows));
+	}
+
+	private StudentImportResultDTO importBody(StudentImportService.Format format, String body) throws Exception {
+		return studentImportService.importStudents(new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)),
+				format, admin.getId());
+	}
+}
@@ -0,0 +1,172 @@
+package pmsBackend.pmsBackend.service;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+import pmsBackend.pmsBackend.TestData;
+import pmsBackend.pmsBackend.dto.CohortRosterEntryDTO;
+import pmsBackend.pmsBackend.dto.CursorPageResponseDTO;
+import pmsBackend.pmsBackend.dto.StudentResponseDTO;
+import pmsBackend.pmsBackend.dto.StudentSort;
+import pmsBackend.pmsBackend.entity.Cohort;
+import pmsBackend.pmsBackend.entity.Student;
+import pmsBackend.pmsBackend.entity.StudentStatus;
+import pmsBackend.pmsBackend.entity.User;
+import pmsBackend.pmsBackend.security.JwtService;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Pages of two over a cohort whose names repeat, so most page boundaries fall inside a run of ties
+@SpringBootTest
+@AutoConfigureMockMvc
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class StudentKeysetPagingTests {
+
+	private static final int PAGE_SIZE = 2;
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private StudentService studentService;
+
+	@Autowired
+	private TestData testData;
+
+	@Autowired
+	private JwtService jwtService;
+
+	private User admin;
+	private Cohort cohort;
+	private final List<Student> students = new ArrayList<>();
+
+	@BeforeAll
+	void seed() {
+		admin = testData.admin("keyset-admin@pms.test");
+		cohort = testData.cohort("Keyset cohort", admin);
+		String[] names = {"Ben", "Ann", "Ann", "Cy", "Ben", "Ann", "Ben"};
+		for (int i = 0; i < names.length; i++) {
+			String name = names[i];
+			StudentStatus status = i == 4 ? StudentStatus.GRADUATED : StudentStatus.ACTIVE;
+			students.add(testData.student("keyset-" + i + "@pms.test", cohort, admin,
+					student -> student.fullNames(name).progress(50).status(status)));
+		}
+	}
+
+	@Test
+	void tiesOnFullNamesArePagedWithoutGapsOrRepeats() {
+		assertThat(walkStudents(Sort.Direction.ASC)).containsExactlyElementsOf(expectedIds(false));
+	}
+
+	@Test
+	void descendingOrderReversesBothTheNameAndTheTieBreak() {
+		assertThat(walkStudents(Sort.Direction.DESC)).containsExactlyElementsOf(expectedIds(true));
+	}
+
+	@Test
+	void rosterPagesThroughTiesInBothDirections() {
+		assertThat(walkRoster(Sort.Direction.ASC)).containsExactlyElementsOf(expectedIds(false));
+		assertThat(walkRoster(Sort.Direction.DESC)).containsExactlyElementsOf(expectedIds(true));
+	}
+
+	@Test
+	void cursorIsRejectedUnderOtherFilters() {
+		String cursor = firstPage().getNextCursor();
+
+		assertThatThrownBy(() -> studentService.getStudentsPage(StudentStatus.ACTIVE, cohort.getId(),
+				StudentSort.FULL_NAMES, Sort.Direction.ASC, cursor, PAGE_SIZE))
+				.isInstanceOf(IllegalArgumentException.class)
+				.hasMessage("Cursor does not match the status and cohortId filters");
+		assertThatThrownBy(() -> studentService.getStudentsPage(null, null,
+				StudentSort.FULL_NAMES, Sort.Direction.ASC, cursor, PAGE_SIZE))
+				.isInstanceOf(IllegalArgumentException.class);
+	}
+
+	@Test
+	void cursorFromOtherFiltersIsABadRequest() throws Exception {
+		String cursor = firstPage().getNextCursor();
+
+		listStudents("cohortId=" + cohort.getId() + "&status=GRADUATED&cursor=" + cursor)
+				.andExpect(status().isBadRequest());
+		listStudents("cohortId=" + cohort.getId() + "&cursor=" + cursor + "&fields=id,fullNames")
+				.andExpect(status().isOk());
+	}
+
+	@Test
+	void tamperedCursorsAreBadRequests() throws Exception {
+		String cursor = firstPage().getNextCursor();
+		String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+
+		for (String tampered : List.of(
+				"not a cursor",
+				encode(raw.replaceFirst("^FULL_NAMES", "PROGRESS")), // name where a number belongs
+				encode(raw.replaceFirst("^FULL_NAMES", "SHOE_SIZE")),
+				encode(raw.replaceFirst("\\|ASC\\|", "|SIDEWAYS|")),
+				encode(raw.replaceFirst("\\|\\d+\\|", "|x|")), // cohortId
+				encode("FULL_NAMES|ASC|Ann"))) {
+			listStudents("cohortId=" + cohort.getId() + "&cursor=" + tampered)
+					.andExpect(status().isBadRequest());
+		}
+	}
+
+	private CursorPageResponseDTO<StudentResponseDTO> firstPage() {
+		return studentService.getStudentsPage(null, cohort.getId(), StudentSort.FULL_NAMES, Sort.Direction.ASC,
+				null, PAGE_SIZE);
+	}
+
+	private List<Long> walkStudents(Sort.Direction direction) {
+		List<Long> ids = new ArrayList<>();
+		String cursor = null;
+		do {
+			CursorPageResponseDTO<StudentResponseDTO> page = studentService.getStudentsPage(
+					null, cohort.getId(), StudentSort.FULL_NAMES, direction, cursor, PAGE_SIZE);
+			page.getItems().forEach(student -> ids.add(student.getId()));
+			cursor = page.getNextCursor();
+		} while (cursor != null);
+		return ids;
+	}
+
+	private List<Long> walkRoster(Sort.Direction direction) {
+		List<Long> ids = new ArrayList<>();
+		String cursor = null;
+		do {
+			CursorPageResponseDTO<CohortRosterEntryDTO> page = studentService.getCohortRoster(
+					cohort.getId(), null, StudentSort.FULL_NAMES, direction, cursor, PAGE_SIZE);
+			page.getItems().forEach(entry -> ids.add(entry.getId()));
+			cursor = page.getNextCursor();
+		} while (cursor != null);
+		return ids;
+	}
+
+	private List<Long> expectedIds(boolean descending) {
+		Comparator<Student> order = Comparator.comparing(Student::getFullNames).thenComparing(Student::getId);
+		return students.stream()
+				.sorted(descending ? order.reversed() : order)
+				.map(Student::getId)
+				.toList();
+	}
+
+	private ResultActions listStudents(String query) throws Exception {
+		return mockMvc.perform(get("/api/students?sort=fullNames&size=" + PAGE_SIZE + "&" + query)
+				.header("Authorization", "Bearer " + jwtService.generateToken(admin)));
+	}
+
+	private static String encode(String raw) {
+		return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+	}
+}